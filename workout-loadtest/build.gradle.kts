@@ -0,0 +1,29 @@
+plugins {
+    id("java")
+    id("application")
+}
+
+group = "com.workout"
+version = "0.1.0-SNAPSHOT"
+java.sourceCompatibility = JavaVersion.VERSION_17
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Latency histograms (.hgrm percentile reports and .hlog interval logs)
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
+
+    // JSON
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.15.3")
+}
+
+application {
+    mainClass.set("com.workout.loadtest.LoadTest")
+}
+
+// ./gradlew run --args="--target webflux --scenario mixed"; reports land in build/results/loadtest
+tasks.named<JavaExec>("run") {
+    workingDir = projectDir
+}
@@ -0,0 +1,28 @@
+package com.workout.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Ids of workouts known to exist before the measured run starts.
+ */
+public record Dataset(List<UUID> ids) {
+
+    public static final Dataset EMPTY = new Dataset(List.of());
+
+    public int size() {
+        return ids.size();
+    }
+
+    public UUID any(SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * One of the first {@code hotKeys} ids, so every request hits the same small set.
+     */
+    public UUID hot(int hotKeys, SplittableRandom random) {
+        return ids.get(random.nextInt(Math.min(hotKeys, ids.size())));
+    }
+}
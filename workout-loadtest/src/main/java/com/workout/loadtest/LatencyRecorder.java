@@ -0,0 +1,105 @@
+package com.workout.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (in microseconds) and outcome counts. Only successful responses are
+ * recorded in the histograms: a fast 429 would otherwise flatter the service that sheds the most load.
+ */
+public class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Outcome counts of one operation.
+     */
+    public static final class Counts {
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        public long succeeded() {
+            return succeeded.sum();
+        }
+
+        /** 429 and 503 responses: the service shedding load rather than failing. */
+        public long rejected() {
+            return rejected.sum();
+        }
+
+        /** Other non-2xx responses, timeouts and connection errors. */
+        public long failed() {
+            return failed.sum();
+        }
+    }
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counts> counts = new EnumMap<>(Operation.class);
+    private final HistogramLogWriter log;
+
+    /**
+     * @param log receives one interval histogram per operation on every {@link #flushInterval()}; may be
+     *            {@code null} for an unreported warm-up
+     */
+    public LatencyRecorder(HistogramLogWriter log) {
+        this.log = log;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            totals.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            counts.put(operation, new Counts());
+        }
+    }
+
+    /**
+     * Records a response or failure; {@code startNanos} is when the request was due to be sent, not when
+     * it actually was, so time spent queued behind a slow service counts against it.
+     */
+    public void record(Operation operation, long startNanos, Integer status, Throwable error) {
+        Counts operationCounts = counts.get(operation);
+        if (error != null) {
+            operationCounts.failed.increment();
+        } else if (status >= 200 && status < 300) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            operationCounts.succeeded.increment();
+        } else if (status == 429 || status == 503) {
+            operationCounts.rejected.increment();
+        } else {
+            operationCounts.failed.increment();
+        }
+    }
+
+    /**
+     * Moves what was recorded since the last call into the totals and the interval log.
+     */
+    public synchronized void flushInterval() {
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram();
+            if (interval.getTotalCount() == 0) {
+                continue;
+            }
+            totals.get(operation).add(interval);
+            if (log != null) {
+                interval.setTag(operation.id());
+                log.outputIntervalHistogram(interval);
+            }
+        }
+    }
+
+    public Histogram total(Operation operation) {
+        return totals.get(operation);
+    }
+
+    public Counts counts(Operation operation) {
+        return counts.get(operation);
+    }
+}
@@ -0,0 +1,69 @@
+package com.workout.loadtest;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues a scenario's requests from a single thread for a fixed time.
+ * <p>
+ * At a fixed rate the schedule is open loop: request {@code i} is due at {@code start + i / rate}, and its
+ * latency is measured from that moment even if the concurrency limit held it back, so a stalling service
+ * cannot hide its stall by slowing the generator down (coordinated omission). With rate 0 the generator
+ * keeps {@code concurrency} requests in flight and measures each from when it was sent.
+ */
+public class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final WorkoutClient client;
+    private final LoadTestOptions options;
+    private final Dataset dataset;
+
+    public LoadGenerator(WorkoutClient client, LoadTestOptions options, Dataset dataset) {
+        this.client = client;
+        this.options = options;
+        this.dataset = dataset;
+    }
+
+    /**
+     * Runs for {@code duration}, then waits for the requests still in flight. Returns the elapsed nanos.
+     */
+    public long run(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.concurrency());
+        SplittableRandom random = new SplittableRandom();
+        long intervalNanos = options.closedLoop() ? 0 : TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            long startNanos = options.closedLoop() ? System.nanoTime() : due;
+            if (options.closedLoop() && startNanos >= end) {
+                inFlight.release();
+                break;
+            }
+            WorkoutClient.Call call = options.scenario().next(client, dataset, options, random);
+            client.send(call).whenComplete((status, error) -> {
+                recorder.record(call.operation(), startNanos, status, error);
+                inFlight.release();
+            });
+        }
+
+        if (!inFlight.tryAcquire(options.concurrency(), DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.out.printf("%d requests still in flight after %s; not counted%n",
+                    options.concurrency() - inFlight.availablePermits(), DRAIN_TIMEOUT);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,92 @@
+package com.workout.loadtest;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one scenario against one of the workout services: seeds the table if the scenario reads, warms
+ * the service up unrecorded, then records a fixed-length run and writes its reports.
+ */
+public class LoadTest {
+
+    private static final Duration SEED_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration LOG_INTERVAL = Duration.ofSeconds(1);
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ExecutorService responses = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responses)
+                .build();
+        try {
+            run(options, new WorkoutClient(httpClient, options.baseUrl()));
+        } finally {
+            responses.shutdownNow();
+        }
+    }
+
+    private static void run(LoadTestOptions options, WorkoutClient client) throws IOException, InterruptedException {
+        client.checkHealth(options.baseUrl(), options.target().healthPath());
+        Dataset dataset = options.scenario().needsDataset()
+                ? client.seed(options.seed(), Math.min(options.concurrency(), 64), SEED_TIMEOUT)
+                : Dataset.EMPTY;
+        LoadGenerator generator = new LoadGenerator(client, options, dataset);
+
+        if (!options.warmup().isZero()) {
+            System.out.printf("Warming up %s for %ds...%n", options.target().id(), options.warmup().toSeconds());
+            generator.run(options.warmup(), new LatencyRecorder(null));
+        }
+
+        Instant startedAt = Instant.now();
+        Path runDir = options.outputDir()
+                .resolve(options.target().id())
+                .resolve(options.scenario().id() + "-" + RUN_ID.format(startedAt));
+        Files.createDirectories(runDir);
+        System.out.printf("Running %s against %s (%s) for %ds...%n",
+                options.scenario().id(), options.target().id(), options.baseUrl(), options.duration().toSeconds());
+
+        ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+        try (var logStream = Files.newOutputStream(runDir.resolve("latency.hlog"))) {
+            HistogramLogWriter log = new HistogramLogWriter(logStream);
+            log.outputLogFormatVersion();
+            log.setBaseTime(startedAt.toEpochMilli());
+            log.outputStartTime(startedAt.toEpochMilli());
+            log.outputLegend();
+            LatencyRecorder recorder = new LatencyRecorder(log);
+            flusher.scheduleAtFixedRate(recorder::flushInterval,
+                    LOG_INTERVAL.toMillis(), LOG_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+            long elapsed = generator.run(options.duration(), recorder);
+            flusher.shutdown();
+            flusher.awaitTermination(LOG_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            recorder.flushInterval();
+            new Report(options, startedAt, runDir).write(recorder, elapsed);
+        } finally {
+            flusher.shutdownNow();
+        }
+    }
+}
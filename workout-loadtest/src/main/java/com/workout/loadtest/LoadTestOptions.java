@@ -0,0 +1,111 @@
+package com.workout.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of one run, parsed from {@code --name value} arguments.
+ */
+public record LoadTestOptions(
+        Target target,
+        URI baseUrl,
+        Scenario scenario,
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        int seed,
+        int hotKeys,
+        int pageSize,
+        Path outputDir
+) {
+
+    private static final Set<String> NAMES = Set.of("target", "base-url", "scenario", "rate", "concurrency",
+            "warmup", "duration", "seed", "hot-keys", "page-size", "output");
+
+    public static final String USAGE = """
+            Usage: ./gradlew run --args="--target <webflux|zio|pekko|cats> --scenario <name> [options]"
+
+              --scenario     create-burst | hot-key | deep-pagination | mixed
+              --base-url     service URL (default: the target's default port on localhost)
+              --rate         requests per second, 0 for closed loop (default: per scenario)
+              --concurrency  maximum requests in flight (default: per scenario)
+              --warmup       unrecorded warm-up, e.g. 30s (default: 30s)
+              --duration     recorded run, e.g. 60s or 2m (default: 60s)
+              --seed         workouts to have in the table before a read scenario (default: 10000)
+              --hot-keys     ids the hot-key scenario reads (default: 10)
+              --page-size    limit of list requests (default: 50)
+              --output       report directory (default: build/results/loadtest)
+            """;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || !NAMES.contains(name) || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            values.put(name, args[i + 1]);
+        }
+        if (!values.containsKey("target") || !values.containsKey("scenario")) {
+            throw new IllegalArgumentException("--target and --scenario are required");
+        }
+
+        Target target = Target.of(values.get("target"));
+        Scenario scenario = Scenario.of(values.get("scenario"));
+        LoadTestOptions options = new LoadTestOptions(
+                target,
+                values.containsKey("base-url") ? URI.create(values.get("base-url")) : target.defaultBaseUrl(),
+                scenario,
+                intValue(values, "rate", scenario.defaultRate()),
+                intValue(values, "concurrency", scenario.defaultConcurrency()),
+                duration(values.getOrDefault("warmup", "30s")),
+                duration(values.getOrDefault("duration", "60s")),
+                intValue(values, "seed", 10_000),
+                intValue(values, "hot-keys", 10),
+                intValue(values, "page-size", 50),
+                Path.of(values.getOrDefault("output", "build/results/loadtest")));
+        if (options.rate < 0 || options.concurrency < 1 || options.hotKeys < 1 || options.pageSize < 1
+                || (scenario.needsDataset() && options.seed < 1)) {
+            throw new IllegalArgumentException("rate must be >= 0; concurrency, hot-keys, page-size and seed must be >= 1");
+        }
+        return options;
+    }
+
+    public boolean closedLoop() {
+        return rate == 0;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be a number: " + value);
+        }
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 2m} or an ISO-8601 duration.
+     */
+    static Duration duration(String value) {
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            if (value.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            return Duration.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+    }
+}
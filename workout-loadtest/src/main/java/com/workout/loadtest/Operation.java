@@ -0,0 +1,19 @@
+package com.workout.loadtest;
+
+/**
+ * A request the harness issues; each gets its own latency histogram.
+ */
+public enum Operation {
+    /** {@code POST /api/workouts}, answered with 202 once the create command is accepted. */
+    CREATE,
+    /** {@code GET /api/workouts/{id}}. */
+    GET,
+    /** {@code GET /api/workouts?limit=&offset=}. */
+    LIST,
+    /** {@code PUT /api/workouts/{id}}. */
+    UPDATE;
+
+    public String id() {
+        return name().toLowerCase();
+    }
+}
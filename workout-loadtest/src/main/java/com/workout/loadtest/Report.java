@@ -0,0 +1,95 @@
+package com.workout.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a run's results: a percentile distribution ({@code .hgrm}, in milliseconds) per operation, and
+ * one line per operation appended to {@code summary.csv} so runs against different targets line up.
+ */
+public class Report {
+
+    private static final String CSV_HEADER = "timestamp,target,scenario,operation,rate,concurrency,duration_s,"
+            + "succeeded,rejected,failed,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    /**
+     * One operation's row of the summary.
+     */
+    record Row(Operation operation, Histogram histogram, LatencyRecorder.Counts counts, double throughput) {
+
+        double percentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+        }
+    }
+
+    private final LoadTestOptions options;
+    private final Instant startedAt;
+    private final Path runDir;
+
+    public Report(LoadTestOptions options, Instant startedAt, Path runDir) {
+        this.options = options;
+        this.startedAt = startedAt;
+        this.runDir = runDir;
+    }
+
+    public void write(LatencyRecorder recorder, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        List<Row> rows = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.Counts counts = recorder.counts(operation);
+            if (counts.succeeded() + counts.rejected() + counts.failed() > 0) {
+                rows.add(new Row(operation, recorder.total(operation), counts, counts.succeeded() / seconds));
+            }
+        }
+
+        for (Row row : rows) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(runDir.resolve(row.operation().id() + ".hgrm")))) {
+                row.histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        appendSummary(rows, seconds);
+        print(rows);
+    }
+
+    private void appendSummary(List<Row> rows, double seconds) throws IOException {
+        Path summary = options.outputDir().resolve("summary.csv");
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(summary)) {
+            lines.add(CSV_HEADER);
+        }
+        for (Row row : rows) {
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.1f,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    startedAt, options.target().id(), options.scenario().id(), row.operation().id(),
+                    options.rate(), options.concurrency(), seconds,
+                    row.counts().succeeded(), row.counts().rejected(), row.counts().failed(), row.throughput(),
+                    row.percentile(50), row.percentile(90), row.percentile(99), row.percentile(99.9),
+                    row.histogram().getMaxValue() / MICROS_PER_MILLI));
+        }
+        Files.write(summary, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void print(List<Row> rows) {
+        System.out.printf("%n%s / %s (%s)%n", options.target().id(), options.scenario().id(),
+                options.closedLoop() ? "closed loop, " + options.concurrency() + " in flight" : options.rate() + " req/s");
+        System.out.printf(Locale.ROOT, "%-8s %10s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "ok", "rejected", "failed", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows) {
+            System.out.printf(Locale.ROOT, "%-8s %10d %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.operation().id(), row.counts().succeeded(), row.counts().rejected(), row.counts().failed(),
+                    row.throughput(), row.percentile(50), row.percentile(90), row.percentile(99), row.percentile(99.9),
+                    row.histogram().getMaxValue() / MICROS_PER_MILLI);
+        }
+        System.out.printf("%nReports written to %s%n", runDir.toAbsolutePath());
+    }
+}
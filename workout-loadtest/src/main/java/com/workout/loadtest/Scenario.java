@@ -0,0 +1,108 @@
+package com.workout.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * A fixed request mix. Rates and concurrency are defaults only; every run records the values it used so
+ * results from different targets can be compared like for like.
+ */
+public enum Scenario {
+
+    /**
+     * Creates as fast as the service accepts them: closed loop, so throughput is the number to compare.
+     */
+    CREATE_BURST("create-burst", 0, 256, false) {
+        @Override
+        WorkoutClient.Call next(WorkoutClient client, Dataset dataset, LoadTestOptions options, SplittableRandom random) {
+            return client.create(random);
+        }
+    },
+
+    /**
+     * Reads of a handful of ids at a fixed rate; measures the cached lookup path.
+     */
+    HOT_KEY("hot-key", 2000, 512, true) {
+        @Override
+        WorkoutClient.Call next(WorkoutClient client, Dataset dataset, LoadTestOptions options, SplittableRandom random) {
+            return client.get(dataset.hot(options.hotKeys(), random));
+        }
+    },
+
+    /**
+     * Offset pages from the deeper half of the seeded rows at a fixed rate.
+     */
+    DEEP_PAGINATION("deep-pagination", 200, 256, true) {
+        @Override
+        WorkoutClient.Call next(WorkoutClient client, Dataset dataset, LoadTestOptions options, SplittableRandom random) {
+            int deepest = Math.max(0, dataset.size() - options.pageSize());
+            int offset = deepest / 2 + random.nextInt(deepest / 2 + 1);
+            return client.list(options.pageSize(), offset);
+        }
+    },
+
+    /**
+     * 60% lookups by id, 15% shallow pages, 20% creates and 5% updates at a fixed rate.
+     */
+    MIXED("mixed", 1000, 512, true) {
+        @Override
+        WorkoutClient.Call next(WorkoutClient client, Dataset dataset, LoadTestOptions options, SplittableRandom random) {
+            int roll = random.nextInt(100);
+            if (roll < 60) {
+                return client.get(dataset.any(random));
+            }
+            if (roll < 75) {
+                return client.list(options.pageSize(), options.pageSize() * random.nextInt(10));
+            }
+            if (roll < 95) {
+                return client.create(random);
+            }
+            return client.update(dataset.any(random), random);
+        }
+    };
+
+    private final String id;
+    private final int defaultRate;
+    private final int defaultConcurrency;
+    private final boolean needsDataset;
+
+    Scenario(String id, int defaultRate, int defaultConcurrency, boolean needsDataset) {
+        this.id = id;
+        this.defaultRate = defaultRate;
+        this.defaultConcurrency = defaultConcurrency;
+        this.needsDataset = needsDataset;
+    }
+
+    abstract WorkoutClient.Call next(WorkoutClient client, Dataset dataset, LoadTestOptions options, SplittableRandom random);
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Requests per second; 0 runs closed loop, keeping {@link #defaultConcurrency()} requests in flight.
+     */
+    public int defaultRate() {
+        return defaultRate;
+    }
+
+    public int defaultConcurrency() {
+        return defaultConcurrency;
+    }
+
+    /**
+     * Whether the scenario reads existing workouts and so needs the table seeded first.
+     */
+    public boolean needsDataset() {
+        return needsDataset;
+    }
+
+    public static Scenario of(String id) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.id.equalsIgnoreCase(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + id + ". Valid scenarios: "
+                        + Arrays.stream(values()).map(Scenario::id).collect(Collectors.joining(", "))));
+    }
+}
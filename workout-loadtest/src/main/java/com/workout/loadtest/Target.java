@@ -0,0 +1,44 @@
+package com.workout.loadtest;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The four implementations of the workout API, with the base URL each listens on when started with its
+ * defaults ({@code gradlew bootRun} / {@code sbt run}) and the path of its health check.
+ */
+public enum Target {
+    WEBFLUX("http://localhost:8083", "/actuator/health"),
+    ZIO("http://localhost:8080", "/health"),
+    PEKKO("http://localhost:8089", "/health"),
+    CATS("http://localhost:8082", "/health");
+
+    private final URI defaultBaseUrl;
+    private final String healthPath;
+
+    Target(String defaultBaseUrl, String healthPath) {
+        this.defaultBaseUrl = URI.create(defaultBaseUrl);
+        this.healthPath = healthPath;
+    }
+
+    public URI defaultBaseUrl() {
+        return defaultBaseUrl;
+    }
+
+    public String healthPath() {
+        return healthPath;
+    }
+
+    public String id() {
+        return name().toLowerCase();
+    }
+
+    public static Target of(String id) {
+        return Arrays.stream(values())
+                .filter(target -> target.id().equalsIgnoreCase(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown target: " + id + ". Valid targets: "
+                        + Arrays.stream(values()).map(Target::id).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,175 @@
+package com.workout.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Builds and sends requests against the API all four services share. Request bodies are serialized up
+ * front so the generator thread only picks one.
+ */
+public class WorkoutClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_PAGE_SIZE = 500;
+    private static final Duration SEED_POLL_INTERVAL = Duration.ofSeconds(2);
+    private static final int BODIES = 1024;
+    private static final List<String> WORKOUT_TYPES =
+            List.of("Cardio", "Strength", "Flexibility", "HIIT", "Yoga", "CrossFit", "Swimming", "Running", "Cycling", "Other");
+    private static final List<String> DIFFICULTIES = List.of("Beginner", "Intermediate", "Advanced", "Expert");
+
+    /**
+     * A request and the operation it is recorded under.
+     */
+    public record Call(Operation operation, HttpRequest request) {}
+
+    private final HttpClient httpClient;
+    private final URI workouts;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<HttpRequest.BodyPublisher> createBodies;
+    private final List<HttpRequest.BodyPublisher> updateBodies;
+
+    public WorkoutClient(HttpClient httpClient, URI baseUrl) {
+        this.httpClient = httpClient;
+        this.workouts = baseUrl.resolve("/api/workouts");
+        SplittableRandom random = new SplittableRandom(42);
+        this.createBodies = new ArrayList<>(BODIES);
+        this.updateBodies = new ArrayList<>(BODIES);
+        for (int i = 0; i < BODIES; i++) {
+            createBodies.add(json(Map.of(
+                    "name", "loadtest-" + i,
+                    "description", "Generated by workout-loadtest",
+                    "workoutType", WORKOUT_TYPES.get(random.nextInt(WORKOUT_TYPES.size())),
+                    "durationMinutes", 10 + random.nextInt(80),
+                    "caloriesBurned", 50 + random.nextInt(900),
+                    "difficulty", DIFFICULTIES.get(random.nextInt(DIFFICULTIES.size())))));
+            updateBodies.add(json(Map.of(
+                    "name", "loadtest-updated-" + i,
+                    "durationMinutes", 10 + random.nextInt(80))));
+        }
+    }
+
+    public Call create(SplittableRandom random) {
+        return new Call(Operation.CREATE, request(workouts)
+                .header("Content-Type", "application/json")
+                .POST(createBodies.get(random.nextInt(BODIES)))
+                .build());
+    }
+
+    public Call get(UUID id) {
+        return new Call(Operation.GET, request(URI.create(workouts + "/" + id)).GET().build());
+    }
+
+    public Call list(int limit, int offset) {
+        return new Call(Operation.LIST, request(URI.create(workouts + "?limit=" + limit + "&offset=" + offset)).GET().build());
+    }
+
+    public Call update(UUID id, SplittableRandom random) {
+        return new Call(Operation.UPDATE, request(URI.create(workouts + "/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(updateBodies.get(random.nextInt(BODIES)))
+                .build());
+    }
+
+    /**
+     * Sends the call and completes with its status code; the body is discarded unread.
+     */
+    public CompletableFuture<Integer> send(Call call) {
+        return httpClient.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    public void checkHealth(URI baseUrl, String healthPath) throws IOException, InterruptedException {
+        URI health = baseUrl.resolve(healthPath);
+        HttpResponse<Void> response = httpClient.send(request(health).GET().build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException(health + " answered " + response.statusCode());
+        }
+    }
+
+    /**
+     * Returns the ids of {@code count} workouts, creating the missing ones and waiting until the service
+     * has persisted them (creates are asynchronous in every implementation). Creates that were rejected
+     * or lost are topped up once the row count stops growing.
+     */
+    public Dataset seed(int count, int concurrency, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Set<UUID> ids = listIds(count);
+        while (ids.size() < count) {
+            System.out.printf("Seeding %d workouts...%n", count - ids.size());
+            createAll(count - ids.size(), concurrency);
+
+            int previous = -1;
+            while (ids.size() < count && ids.size() > previous) {
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("Only " + ids.size() + " of " + count + " seeded workouts persisted within " + timeout);
+                }
+                previous = ids.size();
+                Thread.sleep(SEED_POLL_INTERVAL.toMillis());
+                ids = listIds(count);
+            }
+        }
+        return new Dataset(List.copyOf(ids));
+    }
+
+    private void createAll(int count, int concurrency) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        SplittableRandom random = new SplittableRandom();
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            send(create(random)).whenComplete((status, e) -> inFlight.release());
+        }
+        inFlight.acquire(concurrency);
+    }
+
+    private Set<UUID> listIds(int count) throws IOException, InterruptedException {
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (int offset = 0; ids.size() < count; offset += SEED_PAGE_SIZE) {
+            HttpResponse<byte[]> response = httpClient.send(
+                    request(URI.create(workouts + "?limit=" + SEED_PAGE_SIZE + "&offset=" + offset)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IOException("Listing workouts answered " + response.statusCode());
+            }
+            JsonNode data = objectMapper.readTree(response.body()).path("data");
+            for (JsonNode workout : data) {
+                if (ids.size() < count) {
+                    ids.add(UUID.fromString(workout.path("id").asText()));
+                }
+            }
+            if (data.size() < SEED_PAGE_SIZE) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.workout"
@@ -29,6 +30,16 @@ dependencies {
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("org.postgresql:r2dbc-postgresql")
 
+    // Caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // Brotli response compression (Netty offers "br" when the native library for the platform loads)
+    implementation("com.aayushatharva.brotli4j:brotli4j:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-linux-x86_64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-linux-aarch64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-osx-x86_64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-osx-aarch64:1.16.0")
+
     // Kafka
     implementation("org.springframework.kafka:spring-kafka")
     implementation("io.projectreactor.kafka:reactor-kafka")
@@ -56,3 +67,15 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// JMH benchmarks live in src/jmh/java; run with ./gradlew jmh (results in build/results/jmh)
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // ./gradlew jmh -Pjmh.includes=WorkoutCommandCodec to run a subset
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
@@ -0,0 +1,134 @@
+package com.workout.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.app.cache.IdempotencyCache;
+import com.workout.app.cache.WorkoutCache;
+import com.workout.app.cache.WorkoutCountCache;
+import com.workout.app.domain.Workout;
+import com.workout.app.kafka.DeadLetterPublisher;
+import com.workout.app.kafka.KafkaTracingHelper;
+import com.workout.app.kafka.WorkoutCommand;
+import com.workout.app.kafka.WorkoutCommandConsumer;
+import com.workout.app.kafka.WorkoutCommandMetrics;
+import com.workout.app.kafka.WorkoutCommandProducer;
+import com.workout.app.kafka.WorkoutEventOutbox;
+import com.workout.app.mapper.WorkoutMapperImpl;
+import com.workout.app.repository.WorkoutOutboxRepository;
+import com.workout.app.repository.WorkoutReadRepository;
+import com.workout.app.repository.WorkoutRepository;
+import com.workout.app.service.CommandStatusTracker;
+import com.workout.app.service.WorkoutService;
+import com.workout.app.service.WorkoutStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A Spring context holding the production components of the async create path, wired by Spring over the
+ * in-memory stand-ins from {@link BenchmarkFixtures}. Constructor and {@code @Value} changes in those
+ * components are picked up like they are in the application, without touching the benchmarks.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    private static final Map<String, Object> DEFAULTS = Map.of(
+            "spring.kafka.bootstrap-servers", "in-memory:9092",
+            "kafka.topics.commands", BenchmarkFixtures.COMMAND_TOPIC,
+            "kafka.topics.commands-dlt", BenchmarkFixtures.COMMAND_TOPIC + ".DLT",
+            "kafka.consumer.batch-window", Duration.ofMillis(50).toString(),
+            "kafka.consumer.max-retries", 0,
+            "kafka.consumer.retry-backoff", Duration.ofMillis(1).toString());
+
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    private final AtomicReference<Flux<ReceiverRecord<String, WorkoutCommand>>> records = new AtomicReference<>(Flux.never());
+
+    private BenchmarkContext(List<Workout> rows, Map<String, Object> properties) {
+        Map<String, Object> settings = new HashMap<>(DEFAULTS);
+        settings.putAll(properties);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", settings));
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.registerBean(PropertySourcesPlaceholderConfigurer.class);
+
+        context.registerBean(ObjectMapper.class, BenchmarkFixtures::objectMapper);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(ObservationRegistry.class, () -> ObservationRegistry.NOOP);
+        context.registerBean(Validator.class, () -> Validation.buildDefaultValidatorFactory().getValidator());
+        context.registerBean(TransactionalOperator.class, BenchmarkFixtures::noTransaction);
+        context.registerBean(WorkoutRepository.class, () -> BenchmarkFixtures.inMemoryWorkoutRepository(rows));
+        context.registerBean(WorkoutOutboxRepository.class, BenchmarkFixtures::inMemoryOutboxRepository);
+        standIn("commandSender", ResolvableType.forClassWithGenerics(KafkaSender.class, String.class, WorkoutCommand.class),
+                () -> BenchmarkFixtures.inMemoryCommandSender(context.getBean(ObjectMapper.class)));
+        standIn("kafkaSender", ResolvableType.forClassWithGenerics(KafkaSender.class, String.class, String.class),
+                BenchmarkFixtures::unusedSender);
+        standIn("kafkaReceiver", ResolvableType.forClassWithGenerics(KafkaReceiver.class, String.class, WorkoutCommand.class),
+                () -> BenchmarkFixtures.replayingReceiver(records::get));
+
+        context.register(
+                WorkoutMapperImpl.class,
+                WorkoutCache.class,
+                WorkoutCountCache.class,
+                IdempotencyCache.class,
+                WorkoutEventOutbox.class,
+                CommandStatusTracker.class,
+                WorkoutCommandMetrics.class,
+                KafkaTracingHelper.class,
+                WorkoutStatistics.class,
+                WorkoutReadRepository.class,
+                WorkoutCommandProducer.class,
+                WorkoutService.class,
+                DeadLetterPublisher.class);
+        context.refresh();
+    }
+
+    /**
+     * Starts a context over an empty workouts table; {@code properties} override the application's
+     * {@code @Value} defaults.
+     */
+    static BenchmarkContext start(Map<String, Object> properties) {
+        return new BenchmarkContext(List.of(), properties);
+    }
+
+    <T> T get(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Creates and starts a command consumer, the way Spring creates the application's, whose receiver
+     * replays {@code records}.
+     */
+    WorkoutCommandConsumer startCommandConsumer(Flux<ReceiverRecord<String, WorkoutCommand>> records) {
+        this.records.set(records);
+        return context.getAutowireCapableBeanFactory().createBean(WorkoutCommandConsumer.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private <T> void standIn(String name, ResolvableType type, Supplier<T> supplier) {
+        RootBeanDefinition definition = new RootBeanDefinition(type.toClass());
+        definition.setTargetType(type);
+        definition.setInstanceSupplier(supplier);
+        context.registerBeanDefinition(name, definition);
+    }
+}
@@ -0,0 +1,230 @@
+package com.workout.app.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.workout.app.api.dto.CreateWorkoutRequest;
+import com.workout.app.domain.Difficulty;
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutType;
+import com.workout.app.kafka.WorkoutCommand;
+import com.workout.app.kafka.WorkoutCommandSerializer;
+import com.workout.app.repository.WorkoutOutboxRepository;
+import com.workout.app.repository.WorkoutRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.reactivestreams.Publisher;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * In-memory stand-ins for the database and Kafka so the reactive pipelines can be benchmarked offline;
+ * {@link BenchmarkContext} wires the production components over them.
+ */
+final class BenchmarkFixtures {
+
+    static final String COMMAND_TOPIC = "workout-commands";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Mirrors the Spring Boot defaults relevant to our payloads.
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    static CreateWorkoutRequest createRequest(int i) {
+        return new CreateWorkoutRequest("Workout " + i, "Benchmark workout number " + i,
+                WorkoutType.values()[i % WorkoutType.values().length], 30 + i % 60, 250 + i % 500,
+                Difficulty.values()[i % Difficulty.values().length]);
+    }
+
+    static Workout workout(int i) {
+        CreateWorkoutRequest request = createRequest(i);
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z").plusSeconds(i);
+        return Workout.builder()
+                .id(UUID.randomUUID())
+                .name(request.name())
+                .description(request.description())
+                .workoutType(request.workoutType().name())
+                .durationMinutes(request.durationMinutes())
+                .caloriesBurned(request.caloriesBurned())
+                .difficulty(request.difficulty().name())
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    static List<Workout> workouts(int count) {
+        List<Workout> workouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            workouts.add(workout(i));
+        }
+        return workouts;
+    }
+
+    @SuppressWarnings("unchecked")
+    static WorkoutRepository inMemoryWorkoutRepository(List<Workout> rows) {
+        return proxy(WorkoutRepository.class, (method, args) -> switch (method.getName()) {
+            case "insertAll" -> Flux.fromIterable((List<Workout>) args[0]).map(BenchmarkFixtures::assignId);
+            case "save" -> Mono.just(assignId((Workout) args[0]));
+            case "findAllPaged" -> Flux.fromIterable(rows).skip((int) args[1]).take((int) args[0]);
+            case "findFirstPage" -> Flux.fromIterable(rows).take((int) args[0]);
+            case "groupTotals" -> Flux.empty();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static WorkoutOutboxRepository inMemoryOutboxRepository() {
+        return proxy(WorkoutOutboxRepository.class, (method, args) -> switch (method.getName()) {
+            case "appendAll" -> Mono.empty();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * A sender that acknowledges every record immediately after serializing it, like a broker with no latency.
+     */
+    @SuppressWarnings("unchecked")
+    static KafkaSender<String, WorkoutCommand> inMemoryCommandSender(ObjectMapper objectMapper) {
+        WorkoutCommandSerializer serializer = new WorkoutCommandSerializer(objectMapper);
+        return proxy(KafkaSender.class, (method, args) -> switch (method.getName()) {
+            case "send" -> Flux.from((Publisher<SenderRecord<String, WorkoutCommand, Object>>) args[0])
+                    .map(record -> {
+                        serializer.serialize(record.topic(), record.value());
+                        return acknowledged(record.correlationMetadata());
+                    });
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * A sender for paths the benchmarks never take, such as dead-lettering.
+     */
+    static KafkaSender<String, String> unusedSender() {
+        return proxy(KafkaSender.class, (method, args) -> switch (method.getName()) {
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * A receiver whose every subscription replays the records {@code records} supplies at that moment.
+     */
+    static KafkaReceiver<String, WorkoutCommand> replayingReceiver(Supplier<Flux<ReceiverRecord<String, WorkoutCommand>>> records) {
+        return proxy(KafkaReceiver.class, (method, args) -> switch (method.getName()) {
+            case "receive" -> records.get();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static ReceiverRecord<String, WorkoutCommand> receiverRecord(long offset, WorkoutCommand command, Runnable onCommit) {
+        TopicPartition partition = new TopicPartition(COMMAND_TOPIC, 0);
+        ConsumerRecord<String, WorkoutCommand> record =
+                new ConsumerRecord<>(COMMAND_TOPIC, 0, offset, command.correlationId().toString(), command);
+        ReceiverOffset receiverOffset = new ReceiverOffset() {
+            @Override
+            public TopicPartition topicPartition() {
+                return partition;
+            }
+
+            @Override
+            public long offset() {
+                return offset;
+            }
+
+            @Override
+            public void acknowledge() {
+            }
+
+            @Override
+            public Mono<Void> commit() {
+                return Mono.fromRunnable(onCommit);
+            }
+        };
+        return new ReceiverRecord<>(record, receiverOffset);
+    }
+
+    static TransactionalOperator noTransaction() {
+        return new TransactionalOperator() {
+            @Override
+            public <T> Flux<T> transactional(Flux<T> flux) {
+                return flux;
+            }
+
+            @Override
+            public <T> Mono<T> transactional(Mono<T> mono) {
+                return mono;
+            }
+
+            @Override
+            public <T> Flux<T> execute(TransactionCallback<T> action) {
+                return Flux.from(action.doInTransaction(null));
+            }
+        };
+    }
+
+    private static Workout assignId(Workout workout) {
+        workout.setId(UUID.randomUUID());
+        return workout;
+    }
+
+    private static <T> SenderResult<T> acknowledged(T correlationMetadata) {
+        return new SenderResult<>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return null;
+            }
+
+            @Override
+            public Exception exception() {
+                return null;
+            }
+
+            @Override
+            public T correlationMetadata() {
+                return correlationMetadata;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stand-in";
+                };
+            }
+            return handler.apply(method, args);
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.workout.app.benchmark;
+
+import com.workout.app.api.dto.CreateWorkoutRequest;
+import com.workout.app.kafka.WorkoutCommand;
+import com.workout.app.kafka.WorkoutCommandProducer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.ReceiverRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The async create path end to end with Kafka and Postgres replaced by in-memory stand-ins:
+ * publishing through the shared producer stream, and consuming records through the partition lane
+ * (validation, batch insert, outbox append, cache and status bookkeeping, offset commit).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommandPipelineBenchmark {
+
+    private static final int RECORDS = 2_000;
+
+    @State(Scope.Benchmark)
+    public static class ProducerState {
+        BenchmarkContext context;
+        WorkoutCommandProducer producer;
+        CreateWorkoutRequest request;
+
+        @Setup
+        public void setUp() {
+            context = BenchmarkContext.start(Map.of());
+            producer = context.get(WorkoutCommandProducer.class);
+            request = BenchmarkFixtures.createRequest(1);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConsumerState {
+
+        @Param({"50", "500"})
+        int batchSize;
+
+        BenchmarkContext context;
+        List<WorkoutCommand> commands;
+        CountDownLatch committed;
+        Flux<ReceiverRecord<String, WorkoutCommand>> records;
+
+        @Setup
+        public void setUp() {
+            context = BenchmarkContext.start(Map.of("kafka.consumer.batch-size", batchSize));
+            commands = new ArrayList<>(RECORDS);
+            for (int i = 0; i < RECORDS; i++) {
+                commands.add(WorkoutCommand.create(UUID.randomUUID(), BenchmarkFixtures.createRequest(i)));
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void newRun() {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<ReceiverRecord<String, WorkoutCommand>> batch = new ArrayList<>(RECORDS);
+            for (int i = 0; i < RECORDS; i++) {
+                boolean last = i == RECORDS - 1;
+                batch.add(BenchmarkFixtures.receiverRecord(i, commands.get(i), last ? latch::countDown : () -> {}));
+            }
+            committed = latch;
+            records = Flux.fromIterable(batch);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID publishCreateCommand(ProducerState state) {
+        return state.producer.publishCreateCommand(state.request).block();
+    }
+
+    /**
+     * Time per record to drain {@value #RECORDS} records from one partition up to the final offset commit.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void consumeCommands(ConsumerState state) throws InterruptedException {
+        state.context.startCommandConsumer(state.records);
+        if (!state.committed.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Consumer did not commit the last offset");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.workout.app.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.app.api.dto.CreateWorkoutRequest;
+import com.workout.app.kafka.WorkoutCommand;
+import com.workout.app.kafka.WorkoutCommandDeserializer;
+import com.workout.app.kafka.WorkoutCommandSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the command envelope, compared with the map-based envelope it replaced
+ * (a {@code Map} parsed first and then converted into the request in a second pass).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorkoutCommandCodecBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private ObjectMapper objectMapper;
+    private WorkoutCommandSerializer serializer;
+    private WorkoutCommandDeserializer deserializer;
+    private WorkoutCommand command;
+    private byte[] encoded;
+    private String legacyEncoded;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        serializer = new WorkoutCommandSerializer(objectMapper);
+        deserializer = new WorkoutCommandDeserializer(objectMapper);
+        command = WorkoutCommand.create(UUID.randomUUID(), BenchmarkFixtures.createRequest(1));
+        encoded = serializer.serialize(BenchmarkFixtures.COMMAND_TOPIC, command);
+        legacyEncoded = legacyEncode();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(BenchmarkFixtures.COMMAND_TOPIC, command);
+    }
+
+    @Benchmark
+    public WorkoutCommand deserialize() {
+        return deserializer.deserialize(BenchmarkFixtures.COMMAND_TOPIC, new RecordHeaders(), encoded);
+    }
+
+    @Benchmark
+    public String legacyMapSerialize() throws JsonProcessingException {
+        return legacyEncode();
+    }
+
+    @Benchmark
+    public CreateWorkoutRequest legacyMapDeserialize() throws JsonProcessingException {
+        Map<String, Object> envelope = objectMapper.readValue(legacyEncoded, MAP_TYPE);
+        return objectMapper.convertValue(envelope.get("request"), CreateWorkoutRequest.class);
+    }
+
+    private String legacyEncode() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+                "correlationId", command.correlationId().toString(),
+                "request", command.request()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.workout.app.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.workout.app.api.dto.WorkoutListResponse;
+import com.workout.app.domain.Workout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and encoding a list page as one JSON document versus streaming it as NDJSON,
+ * one document per workout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkoutListResponseBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int limit;
+
+    private List<Workout> rows;
+    private ObjectWriter pageWriter;
+    private ObjectWriter workoutWriter;
+
+    @Setup
+    public void setUp() {
+        // One extra row, as fetched by the controller to detect the next page.
+        rows = BenchmarkFixtures.workouts(limit + 1);
+        pageWriter = BenchmarkFixtures.objectMapper().writerFor(WorkoutListResponse.class);
+        workoutWriter = BenchmarkFixtures.objectMapper().writerFor(Workout.class);
+    }
+
+    @Benchmark
+    public byte[] jsonPage() {
+        return Flux.fromIterable(rows)
+                .collectList()
+                .map(page -> encode(pageWriter, WorkoutListResponse.page(page, limit)))
+                .block();
+    }
+
+    @Benchmark
+    public long ndjsonStream() {
+        return Flux.fromIterable(rows)
+                .take(limit)
+                .map(workout -> encode(workoutWriter, workout))
+                .reduce(0L, (bytes, line) -> bytes + line.length + 1)
+                .block();
+    }
+
+    private static byte[] encode(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.workout.app.benchmark;
+
+import com.workout.app.api.dto.CreateWorkoutRequest;
+import com.workout.app.api.dto.UpdateWorkoutRequest;
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutType;
+import com.workout.app.mapper.WorkoutMapper;
+import com.workout.app.mapper.WorkoutMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mapping done for every create command and every update request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorkoutMapperBenchmark {
+
+    private final WorkoutMapper mapper = new WorkoutMapperImpl();
+    private final CreateWorkoutRequest createRequest = BenchmarkFixtures.createRequest(1);
+    private final UpdateWorkoutRequest updateRequest =
+            new UpdateWorkoutRequest("Evening Run", null, WorkoutType.Running, 45, null, null, null);
+
+    @Benchmark
+    public Workout toWorkout() {
+        return mapper.toWorkout(createRequest);
+    }
+
+    @Benchmark
+    public Workout updateWorkoutFromRequest() {
+        Workout workout = BenchmarkFixtures.workout(1);
+        mapper.updateWorkoutFromRequest(updateRequest, workout);
+        return workout;
+    }
+}
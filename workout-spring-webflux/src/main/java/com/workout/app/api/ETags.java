@@ -0,0 +1,44 @@
+package com.workout.app.api;
+
+import com.workout.app.api.dto.WorkoutListResponse;
+import com.workout.app.domain.Workout;
+
+import java.util.Objects;
+
+/**
+ * Weak entity tags for workout responses. They identify the representation's content, not its bytes,
+ * so they stay valid across response compression. A workout's tag is its version; {@code If-Match}
+ * takes that version as a strong tag, since a weak one never matches there.
+ */
+final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    static String of(Workout workout) {
+        return "W/\"" + workout.getVersion() + "\"";
+    }
+
+    /**
+     * Tag of a list page: a hash over the ids and versions of its rows, its total and its next cursor,
+     * so it changes whenever any row on the page, the match count or the page boundary changes.
+     */
+    static String of(WorkoutListResponse page) {
+        long hash = FNV_OFFSET;
+        for (Workout workout : page.data()) {
+            hash = mix(hash, workout.getId().getMostSignificantBits());
+            hash = mix(hash, workout.getId().getLeastSignificantBits());
+            hash = mix(hash, workout.getVersion());
+        }
+        hash = mix(hash, page.total());
+        hash = mix(hash, Objects.hashCode(page.nextCursor()));
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
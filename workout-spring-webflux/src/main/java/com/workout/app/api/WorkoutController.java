@@ -1,70 +1,365 @@
 package com.workout.app.api;
 
 import com.workout.app.api.dto.*;
+import com.workout.app.domain.Difficulty;
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutFilter;
+import com.workout.app.domain.WorkoutType;
+import com.workout.app.kafka.CommandPublishingUnavailableException;
+import com.workout.app.service.AdmissionControl;
+import com.workout.app.service.AdmissionRejectedException;
+import com.workout.app.service.BulkLimitExceededException;
+import com.workout.app.service.IdempotencyKeyReusedException;
+import com.workout.app.service.WorkoutBulkService;
 import com.workout.app.service.WorkoutService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.UUID;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/workouts")
-public record WorkoutController(WorkoutService workoutService) {
+public record WorkoutController(WorkoutService workoutService, WorkoutBulkService bulkService, AdmissionControl admissionControl) {
 
+    private static final Duration MAX_COMMAND_WAIT = Duration.ofSeconds(30);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Duration PUBLISHING_RETRY_AFTER = Duration.ofSeconds(1);
+
+    /**
+     * Async create; 429 (producer saturated) or 503 (consumer backlogged, or the command could not be
+     * handed to Kafka) with {@code Retry-After} when the write path sheds load. With an {@code Idempotency-Key}, retries of the same request return
+     * the original correlation id and create a single workout; reusing the key for a different request is 422.
+     */
     @PostMapping
-    public Mono<ResponseEntity<AcceptedResponse>> createWorkout(@Valid @RequestBody CreateWorkoutRequest request) {
-        return workoutService.createAsync(request)
-                .map(correlationId -> ResponseEntity.status(HttpStatus.ACCEPTED).body(AcceptedResponse.ok(correlationId)));
+    public Mono<ResponseEntity<AcceptedResponse>> createWorkout(
+            @Valid @RequestBody CreateWorkoutRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            return Mono.just(ResponseEntity.badRequest().body(AcceptedResponse.rejected(
+                    IDEMPOTENCY_KEY + " must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters")));
+        }
+        return admissionControl.admit()
+                .then(Mono.defer(() -> workoutService.createAsync(request, idempotencyKey)))
+                .map(correlationId -> ResponseEntity.status(HttpStatus.ACCEPTED).body(AcceptedResponse.ok(correlationId)))
+                .onErrorResume(AdmissionRejectedException.class, e -> Mono.just(rejected(e, AcceptedResponse.rejected(e.getMessage()))))
+                .onErrorResume(CommandPublishingUnavailableException.class, e -> Mono.just(
+                        retryAfter(HttpStatus.SERVICE_UNAVAILABLE, PUBLISHING_RETRY_AFTER, AcceptedResponse.rejected(e.getMessage()))))
+                .onErrorResume(IdempotencyKeyReusedException.class, e -> Mono.just(
+                        ResponseEntity.unprocessableEntity().body(AcceptedResponse.rejected(e.getMessage()))));
+    }
+
+    /**
+     * Creates many workouts from a JSON array or NDJSON body. By default every item is published as an
+     * async create command (202, with a correlation id per item); {@code async=false} inserts them
+     * directly (200, with the new ids). Async requests pass admission control once, before the body is read.
+     * A body with more than {@code workout.bulk.max-items} items is 413 as soon as the extra item is read.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkResponse>> createWorkouts(
+            @RequestBody Flux<CreateWorkoutRequest> requests,
+            @RequestParam(defaultValue = "true") boolean async) {
+        if (!async) {
+            return bulkService.create(requests)
+                    .collectList()
+                    .map(items -> ResponseEntity.ok(BulkResponse.of(items)))
+                    .onErrorResume(BulkLimitExceededException.class, e -> Mono.just(tooLarge(e)));
+        }
+        return admissionControl.admit()
+                .thenMany(Flux.defer(() -> bulkService.createAsync(requests)))
+                .collectList()
+                .map(items -> ResponseEntity.status(HttpStatus.ACCEPTED).body(BulkResponse.of(items)))
+                .onErrorResume(AdmissionRejectedException.class, e -> Mono.just(rejected(e, null)))
+                .onErrorResume(BulkLimitExceededException.class, e -> Mono.just(tooLarge(e)));
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkResponse>> updateWorkouts(@RequestBody Flux<BulkUpdateRequest> requests) {
+        return bulkService.update(requests)
+                .collectList()
+                .map(items -> ResponseEntity.ok(BulkResponse.of(items)))
+                .onErrorResume(BulkLimitExceededException.class, e -> Mono.just(tooLarge(e)));
     }
 
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkResponse>> deleteWorkouts(@RequestBody Flux<UUID> ids) {
+        return bulkService.delete(ids)
+                .collectList()
+                .map(items -> ResponseEntity.ok(BulkResponse.of(items)))
+                .onErrorResume(BulkLimitExceededException.class, e -> Mono.just(tooLarge(e)));
+    }
+
+    /**
+     * Offset pagination by default; passing {@code cursor} (empty for the first page) switches to keyset
+     * pagination, which costs the same for every page. Both modes return {@code nextCursor}. {@code limit}
+     * must be 1 to {@value #MAX_PAGE_SIZE} and {@code offset} not negative (400 otherwise).
+     */
     @GetMapping
-    public Mono<WorkoutListResponse> getAllWorkouts(
+    public Mono<ResponseEntity<WorkoutListResponse>> getAllWorkouts(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE || offset < 0) {
+            return Mono.just(invalidPage());
+        }
+        Flux<Workout> rows;
+        if (cursor == null) {
+            rows = workoutService.findAll(limit + 1, offset);
+        } else {
+            WorkoutCursor after;
+            try {
+                after = cursor.isEmpty() ? null : WorkoutCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Mono.just(ResponseEntity.badRequest().body(WorkoutListResponse.error("Invalid cursor")));
+            }
+            rows = workoutService.findAfter(after, limit + 1);
+        }
+        return rows.collectList()
+                .map(workouts -> cacheable(WorkoutListResponse.page(workouts, limit)));
+    }
+
+    /**
+     * Combined filter over type, difficulty and duration/calorie ranges (inclusive), with the same offset
+     * or cursor pagination and page limits as {@link #getAllWorkouts}. {@code total} counts all matches and is cached
+     * briefly per filter, so it may trail recent writes.
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<WorkoutListResponse>> searchWorkouts(
+            @RequestParam(required = false) WorkoutType type,
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(required = false) Integer minDuration,
+            @RequestParam(required = false) Integer maxDuration,
+            @RequestParam(required = false) Integer minCalories,
+            @RequestParam(required = false) Integer maxCalories,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE || offset < 0) {
+            return Mono.just(invalidPage());
+        }
+        WorkoutCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : WorkoutCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(WorkoutListResponse.error("Invalid cursor")));
+        }
+        WorkoutFilter filter = new WorkoutFilter(
+                type != null ? type.name() : null,
+                difficulty != null ? difficulty.name() : null,
+                minDuration, maxDuration, minCalories, maxCalories);
+        return Mono.zip(workoutService.search(filter, after, limit + 1, offset).collectList(), workoutService.count(filter))
+                .map(result -> cacheable(WorkoutListResponse.page(result.getT1(), limit, result.getT2())));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Workout> streamAllWorkouts(
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(defaultValue = "0") int offset) {
-        return workoutService.findAll(limit, offset)
-                .collectList()
-                .map(WorkoutListResponse::success);
+        return workoutService.findAll(limit, offset);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Workout>> streamAllWorkoutEvents(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        return workoutService.findAll(limit, offset).map(WorkoutController::toEvent);
+    }
+
+    /**
+     * Status of an async create. With {@code waitMs} the request long-polls until the workout is
+     * persisted or the wait (capped at 30s) expires; 200 means completed, 202 still pending.
+     */
+    @GetMapping("/commands/{correlationId}")
+    public Mono<ResponseEntity<CommandStatusResponse>> getCommandStatus(
+            @PathVariable UUID correlationId,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        return workoutService.findByCorrelationId(correlationId, commandWait(waitMs))
+                .map(w -> ResponseEntity.ok(CommandStatusResponse.completed(w)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.ACCEPTED).body(CommandStatusResponse.pending(correlationId)));
+    }
+
+    @GetMapping(value = "/commands/{correlationId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CommandStatusResponse>> streamCommandStatus(
+            @PathVariable UUID correlationId,
+            @RequestParam(defaultValue = "30000") long waitMs) {
+        return workoutService.findByCorrelationId(correlationId, commandWait(waitMs))
+                .map(CommandStatusResponse::completed)
+                .defaultIfEmpty(CommandStatusResponse.pending(correlationId))
+                .map(status -> ServerSentEvent.builder(status).event(status.status().toLowerCase()).build())
+                .flux();
+    }
+
+    /**
+     * Aggregate counts, durations and calories, overall and per type and difficulty. Served from memory;
+     * 503 until the first load from the database has finished.
+     */
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<WorkoutStatsResponse>> getStats() {
+        return workoutService.stats()
+                .map(stats -> ResponseEntity.ok(WorkoutStatsResponse.success(stats)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(WorkoutStatsResponse.error("Workout statistics are still loading")));
     }
 
+    /**
+     * Tagged with the workout's version; a matching {@code If-None-Match} is answered with 304 and no body.
+     */
     @GetMapping("/{id}")
     public Mono<ResponseEntity<WorkoutResponse>> getWorkoutById(@PathVariable UUID id) {
         return workoutService.findById(id)
-                .map(w -> ResponseEntity.ok(WorkoutResponse.success(w)))
+                .map(w -> ResponseEntity.ok().eTag(ETags.of(w)).body(WorkoutResponse.success(w)))
                 .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(WorkoutResponse.error("Workout not found")));
     }
 
+    /**
+     * Partial update. The expected version comes from {@code If-Match} (412 on mismatch, or if the workout
+     * does not exist) or, failing that, from the request's {@code version} field (409 on mismatch); without
+     * either the update is unconditional.
+     */
     @PutMapping("/{id}")
     public Mono<ResponseEntity<WorkoutResponse>> updateWorkout(
             @PathVariable UUID id,
-            @RequestBody UpdateWorkoutRequest request) {
-        return workoutService.update(id, request)
+            @RequestBody UpdateWorkoutRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch != null ? versionFromTag(ifMatch) : request.version();
+        HttpStatus conflictStatus = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        HttpStatus missingStatus = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND;
+        return workoutService.update(id, request, expectedVersion)
                 .map(w -> ResponseEntity.ok(WorkoutResponse.success(w)))
-                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(WorkoutResponse.error("Workout not found")));
+                .onErrorResume(OptimisticLockingFailureException.class, e -> Mono.just(
+                        ResponseEntity.status(conflictStatus).body(WorkoutResponse.error("Workout was modified concurrently"))))
+                .defaultIfEmpty(ResponseEntity.status(missingStatus).body(WorkoutResponse.error("Workout not found")));
     }
 
+    /**
+     * Delete, optionally conditional on {@code If-Match} (412 on mismatch, or if the workout does not exist)
+     * or the {@code version} parameter (409).
+     */
     @DeleteMapping("/{id}")
-    public Mono<ResponseEntity<Void>> deleteWorkout(@PathVariable UUID id) {
-        return workoutService.delete(id)
-                .map(deleted -> Boolean.TRUE.equals(deleted) ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().build());
+    public Mono<ResponseEntity<Void>> deleteWorkout(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Long version,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch != null ? versionFromTag(ifMatch) : version;
+        HttpStatus conflictStatus = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        HttpStatus missingStatus = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND;
+        return workoutService.delete(id, expectedVersion)
+                .map(deleted -> Boolean.TRUE.equals(deleted) ? ResponseEntity.noContent().<Void>build() : ResponseEntity.status(missingStatus).<Void>build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> Mono.just(ResponseEntity.status(conflictStatus).<Void>build()));
     }
 
     @GetMapping("/type/{type}")
-    public Mono<WorkoutListResponse> getWorkoutsByType(@PathVariable String type) {
+    public Mono<ResponseEntity<WorkoutListResponse>> getWorkoutsByType(@PathVariable String type) {
         return workoutService.findByType(type)
                 .collectList()
-                .map(WorkoutListResponse::success);
+                .map(workouts -> cacheable(WorkoutListResponse.success(workouts)));
+    }
+
+    @GetMapping(value = "/type/{type}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Workout> streamWorkoutsByType(@PathVariable String type) {
+        return workoutService.findByType(type);
+    }
+
+    @GetMapping(value = "/type/{type}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Workout>> streamWorkoutEventsByType(@PathVariable String type) {
+        return workoutService.findByType(type).map(WorkoutController::toEvent);
     }
 
     @GetMapping("/difficulty/{difficulty}")
-    public Mono<WorkoutListResponse> getWorkoutsByDifficulty(@PathVariable String difficulty) {
+    public Mono<ResponseEntity<WorkoutListResponse>> getWorkoutsByDifficulty(@PathVariable String difficulty) {
         return workoutService.findByDifficulty(difficulty)
                 .collectList()
-                .map(WorkoutListResponse::success);
+                .map(workouts -> cacheable(WorkoutListResponse.success(workouts)));
+    }
+
+    @GetMapping(value = "/difficulty/{difficulty}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Workout> streamWorkoutsByDifficulty(@PathVariable String difficulty) {
+        return workoutService.findByDifficulty(difficulty);
+    }
+
+    @GetMapping(value = "/difficulty/{difficulty}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Workout>> streamWorkoutEventsByDifficulty(@PathVariable String difficulty) {
+        return workoutService.findByDifficulty(difficulty).map(WorkoutController::toEvent);
+    }
+
+    /**
+     * Reads the version from a strong entity tag ({@code "3"}); {@code *} matches any version of an
+     * existing workout. {@code If-Match} uses strong comparison, so a weak tag ({@code W/"3"}, as sent in
+     * the {@code ETag} of reads) never matches, like any other tag that is not a version: both map to an
+     * impossible version.
+     */
+    private static Long versionFromTag(String tag) {
+        String value = tag.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * 200 with a weak ETag over the page; Spring answers a matching {@code If-None-Match} with 304 before
+     * the body is serialized.
+     */
+    private static ResponseEntity<WorkoutListResponse> cacheable(WorkoutListResponse page) {
+        return ResponseEntity.ok().eTag(ETags.of(page)).body(page);
+    }
+
+    private static ResponseEntity<WorkoutListResponse> invalidPage() {
+        return ResponseEntity.badRequest().body(WorkoutListResponse.error(
+                "limit must be 1 to " + MAX_PAGE_SIZE + " and offset must not be negative"));
+    }
+
+    private static Duration commandWait(long waitMs) {
+        Duration wait = Duration.ofMillis(Math.max(0, waitMs));
+        return wait.compareTo(MAX_COMMAND_WAIT) > 0 ? MAX_COMMAND_WAIT : wait;
+    }
+
+    /**
+     * 429 when this instance's producer is saturated, 503 when the consumer backlog is too deep; either
+     * way {@code Retry-After} (whole seconds) says when to try again.
+     */
+    private static <T> ResponseEntity<T> rejected(AdmissionRejectedException e, T body) {
+        HttpStatus status = e.getReason() == AdmissionControl.Reason.PRODUCER_SATURATED
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        return retryAfter(status, e.getRetryAfter(), body);
+    }
+
+    private static <T> ResponseEntity<T> retryAfter(HttpStatus status, Duration retryAfter, T body) {
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
+
+    private static ResponseEntity<BulkResponse> tooLarge(BulkLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(BulkResponse.error(e.getMessage()));
+    }
+
+    private static ServerSentEvent<Workout> toEvent(Workout workout) {
+        return ServerSentEvent.builder(workout)
+                .id(workout.getId().toString())
+                .event("workout")
+                .build();
     }
 }
 
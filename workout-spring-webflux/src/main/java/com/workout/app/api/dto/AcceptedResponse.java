@@ -6,5 +6,8 @@ public record AcceptedResponse(boolean success, UUID correlationId, String messa
     public static AcceptedResponse ok(UUID correlationId) {
         return new AcceptedResponse(true, correlationId, "Request accepted for processing");
     }
+    public static AcceptedResponse rejected(String msg) {
+        return new AcceptedResponse(false, null, msg);
+    }
 }
 
@@ -0,0 +1,48 @@
+package com.workout.app.api.dto;
+
+import com.workout.app.domain.Workout;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request; {@code index} is the item's position in the request body.
+ */
+public record BulkItemResult(int index, String status, UUID id, UUID correlationId, String message) {
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    public static BulkItemResult accepted(int index, UUID correlationId) {
+        return new BulkItemResult(index, ACCEPTED, null, correlationId, null);
+    }
+    public static BulkItemResult created(int index, Workout w) {
+        return new BulkItemResult(index, CREATED, w.getId(), w.getCorrelationId(), null);
+    }
+    public static BulkItemResult updated(int index, UUID id) {
+        return new BulkItemResult(index, UPDATED, id, null, null);
+    }
+    public static BulkItemResult deleted(int index, UUID id) {
+        return new BulkItemResult(index, DELETED, id, null, null);
+    }
+    public static BulkItemResult notFound(int index, UUID id) {
+        return new BulkItemResult(index, NOT_FOUND, id, null, "Workout not found");
+    }
+    public static BulkItemResult conflict(int index, UUID id) {
+        return new BulkItemResult(index, CONFLICT, id, null, "Workout was modified concurrently");
+    }
+    public static BulkItemResult invalid(int index, UUID id, String msg) {
+        return new BulkItemResult(index, INVALID, id, null, msg);
+    }
+    public static BulkItemResult failed(int index, UUID id, String msg) {
+        return new BulkItemResult(index, FAILED, id, null, msg);
+    }
+
+    public boolean succeeded() {
+        return ACCEPTED.equals(status) || CREATED.equals(status) || UPDATED.equals(status) || DELETED.equals(status);
+    }
+}
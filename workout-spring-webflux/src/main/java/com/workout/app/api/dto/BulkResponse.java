@@ -0,0 +1,14 @@
+package com.workout.app.api.dto;
+
+import java.util.List;
+
+public record BulkResponse(boolean success, int total, int succeeded, int failed, List<BulkItemResult> results, String message) {
+    public static BulkResponse of(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::succeeded).count();
+        int failed = results.size() - succeeded;
+        return new BulkResponse(failed == 0, results.size(), succeeded, failed, results, null);
+    }
+    public static BulkResponse error(String msg) {
+        return new BulkResponse(false, 0, 0, 0, List.of(), msg);
+    }
+}
@@ -0,0 +1,5 @@
+package com.workout.app.api.dto;
+
+import java.util.UUID;
+
+public record BulkUpdateRequest(UUID id, UpdateWorkoutRequest changes) {}
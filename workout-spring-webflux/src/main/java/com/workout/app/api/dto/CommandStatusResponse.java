@@ -0,0 +1,17 @@
+package com.workout.app.api.dto;
+
+import com.workout.app.domain.Workout;
+
+import java.util.UUID;
+
+public record CommandStatusResponse(boolean success, UUID correlationId, String status, Workout data) {
+    public static final String PENDING = "PENDING";
+    public static final String COMPLETED = "COMPLETED";
+
+    public static CommandStatusResponse pending(UUID correlationId) {
+        return new CommandStatusResponse(true, correlationId, PENDING, null);
+    }
+    public static CommandStatusResponse completed(Workout w) {
+        return new CommandStatusResponse(true, w.getCorrelationId(), COMPLETED, w);
+    }
+}
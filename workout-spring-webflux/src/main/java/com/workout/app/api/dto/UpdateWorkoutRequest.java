@@ -9,6 +9,8 @@ public record UpdateWorkoutRequest(
         WorkoutType workoutType,
         Integer durationMinutes,
         Integer caloriesBurned,
-        Difficulty difficulty
+        Difficulty difficulty,
+        // Version the client last read; when set, the update only applies if the workout is still at it.
+        Long version
 ) {}
 
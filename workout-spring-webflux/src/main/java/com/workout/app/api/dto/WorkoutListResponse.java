@@ -3,12 +3,29 @@ package com.workout.app.api.dto;
 import com.workout.app.domain.Workout;
 import java.util.List;
 
-public record WorkoutListResponse(boolean success, List<Workout> data, int total, String message) {
+public record WorkoutListResponse(boolean success, List<Workout> data, int total, String nextCursor, String message) {
     public static WorkoutListResponse success(List<Workout> workouts) {
-        return new WorkoutListResponse(true, workouts, workouts.size(), null);
+        return new WorkoutListResponse(true, workouts, workouts.size(), null, null);
+    }
+    /**
+     * Builds a page from up to {@code limit + 1} rows; the extra row only signals that a next page exists.
+     */
+    public static WorkoutListResponse page(List<Workout> rows, int limit) {
+        if (rows.size() <= limit) {
+            return success(rows);
+        }
+        List<Workout> page = rows.subList(0, limit);
+        String nextCursor = page.isEmpty() ? null : WorkoutCursor.of(page.get(page.size() - 1)).encode();
+        return new WorkoutListResponse(true, page, page.size(), nextCursor, null);
+    }
+    /**
+     * Like {@link #page(List, int)}, with {@code total} set to the number of matches across all pages.
+     */
+    public static WorkoutListResponse page(List<Workout> rows, int limit, long total) {
+        WorkoutListResponse page = page(rows, limit);
+        return new WorkoutListResponse(true, page.data(), (int) Math.min(total, Integer.MAX_VALUE), page.nextCursor(), null);
     }
     public static WorkoutListResponse error(String msg) {
-        return new WorkoutListResponse(false, List.of(), 0, msg);
+        return new WorkoutListResponse(false, List.of(), 0, null, msg);
     }
 }
-
@@ -0,0 +1,12 @@
+package com.workout.app.api.dto;
+
+import com.workout.app.domain.WorkoutStats;
+
+public record WorkoutStatsResponse(boolean success, WorkoutStats data, String message) {
+    public static WorkoutStatsResponse success(WorkoutStats stats) {
+        return new WorkoutStatsResponse(true, stats, null);
+    }
+    public static WorkoutStatsResponse error(String msg) {
+        return new WorkoutStatsResponse(false, null, msg);
+    }
+}
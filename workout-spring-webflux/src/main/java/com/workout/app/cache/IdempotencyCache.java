@@ -0,0 +1,49 @@
+package com.workout.app.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workout.app.api.dto.CreateWorkoutRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded window of recently accepted {@code Idempotency-Key}s, each mapped to the request it was first
+ * used with and the resulting correlation id. A retry within {@code window} is answered from memory;
+ * concurrent requests with the same key share one publish, and a failed publish is dropped so the
+ * next retry publishes again. Metrics are tagged {@code cache=idempotency-keys}.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final AsyncCache<String, AcceptedCreate> cache;
+
+    public IdempotencyCache(MeterRegistry meterRegistry,
+            @Value("${workout.idempotency.max-keys:100000}") long maxKeys,
+            @Value("${workout.idempotency.window:10m}") Duration window) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(window)
+                .recordStats()
+                .buildAsync();
+        new CaffeineCacheMetrics<>(cache.synchronous(), "idempotency-keys", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public Mono<AcceptedCreate> get(String key, CreateWorkoutRequest request, Supplier<Mono<UUID>> publish) {
+        // The publish runs outside the subscriber's chain, so it gets the caller's context (trace parent)
+        // explicitly; it is shared with other subscribers, so one of them cancelling must not cancel it.
+        return Mono.deferContextual(context -> Mono.fromFuture(() -> cache.get(key, (k, executor) -> publish.get()
+                .map(correlationId -> new AcceptedCreate(request, correlationId))
+                .contextWrite(context)
+                .toFuture()), true));
+    }
+
+    public record AcceptedCreate(CreateWorkoutRequest request, UUID correlationId) {}
+}
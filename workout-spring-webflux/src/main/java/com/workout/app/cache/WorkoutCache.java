@@ -0,0 +1,49 @@
+package com.workout.app.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workout.app.domain.Workout;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of workouts by id. Concurrent misses for the same id share one load,
+ * and absent workouts are not cached. Hit, miss and eviction counts are published as {@code cache.*}
+ * metrics tagged {@code cache=workouts}.
+ */
+@Component
+public class WorkoutCache {
+
+    private final AsyncCache<UUID, Workout> cache;
+
+    public WorkoutCache(MeterRegistry meterRegistry,
+            @Value("${workout.cache.max-size:10000}") long maxSize,
+            @Value("${workout.cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        new CaffeineCacheMetrics<>(cache.synchronous(), "workouts", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public Mono<Workout> get(UUID id, Function<UUID, Mono<Workout>> loader) {
+        // The load is shared with other subscribers, so one of them cancelling must not cancel it.
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    /**
+     * Drops the entry, including a load that is still in flight, so the next read goes to the database.
+     */
+    public void invalidate(UUID id) {
+        cache.synchronous().invalidate(id);
+    }
+}
@@ -0,0 +1,41 @@
+package com.workout.app.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workout.app.domain.WorkoutFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of match counts per search filter, so paging through results costs one COUNT per
+ * filter per {@code ttl} instead of one per page. Totals may trail concurrent writes by up to the ttl.
+ * Metrics are tagged {@code cache=workout-counts}.
+ */
+@Component
+public class WorkoutCountCache {
+
+    private final AsyncCache<WorkoutFilter, Long> cache;
+
+    public WorkoutCountCache(MeterRegistry meterRegistry,
+            @Value("${workout.search.count-cache-size:1000}") long maxSize,
+            @Value("${workout.search.count-ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        new CaffeineCacheMetrics<>(cache.synchronous(), "workout-counts", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public Mono<Long> get(WorkoutFilter filter, Function<WorkoutFilter, Mono<Long>> loader) {
+        // The load is shared with other subscribers, so one of them cancelling must not cancel it.
+        return Mono.fromFuture(() -> cache.get(filter, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+}
@@ -1,5 +1,10 @@
 package com.workout.app.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.app.kafka.WorkoutCommand;
+import com.workout.app.kafka.WorkoutCommandDeserializer;
+import com.workout.app.kafka.WorkoutCommandSerializer;
+import com.workout.app.kafka.WorkoutEventOutbox;
 import io.micrometer.observation.ObservationRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -26,26 +31,57 @@ public class KafkaConfig {
     @Value("${kafka.topics.commands}")
     private String commandTopic;
 
+    @Value("${kafka.topics.commands-dlt}")
+    private String commandDeadLetterTopic;
+
     @Value("${kafka.topics.events}")
     private String eventsTopic;
 
+    @Value("${kafka.topics.command-partitions:6}")
+    private int commandPartitions;
+
+    @Value("${kafka.topics.event-partitions:3}")
+    private int eventPartitions;
+
     @Value("${kafka.group-id}")
     private String groupId;
 
+    @Value("${kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${kafka.producer.batch-size:65536}")
+    private int producerBatchSize;
+
+    @Value("${kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${kafka.producer.acks:all}")
+    private String acks;
+
+    @Value("${kafka.producer.max-in-flight-requests-per-connection:5}")
+    private int maxInFlightRequestsPerConnection;
+
+    @Value("${kafka.producer.max-in-flight:1024}")
+    private int maxInFlight;
+
     @Bean
     public NewTopic commandTopic() {
-        return new NewTopic(commandTopic, 1, (short) 1);
+        return new NewTopic(commandTopic, commandPartitions, (short) 1);
+    }
+
+    @Bean
+    public NewTopic commandDeadLetterTopic() {
+        return new NewTopic(commandDeadLetterTopic, 1, (short) 1);
     }
 
     @Bean
     public NewTopic eventsTopic() {
-        return new NewTopic(eventsTopic, 1, (short) 1);
+        return new NewTopic(eventsTopic, eventPartitions, (short) 1);
     }
 
     @Bean
     public KafkaSender<String, String> kafkaSender(KafkaProperties properties, ObservationRegistry observationRegistry) {
-        Map<String, Object> props = properties.buildProducerProperties(null);
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, String.join(",", properties.getBootstrapServers()));
+        Map<String, Object> props = producerProperties(properties);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         
@@ -53,18 +89,67 @@ public class KafkaConfig {
         return KafkaSender.create(senderOptions.withObservation(observationRegistry));
     }
 
+    /**
+     * Sender behind the shared command publishing stream. Records from many requests go through one
+     * send() call, so there is no sender-level observation; WorkoutCommandProducer starts one per record
+     * under the originating request instead. Failed records are reported without ending the stream.
+     */
     @Bean
-    public KafkaReceiver<String, String> kafkaReceiver(KafkaProperties properties, ObservationRegistry observationRegistry) {
+    public KafkaSender<String, WorkoutCommand> commandSender(KafkaProperties properties, ObjectMapper objectMapper) {
+        Map<String, Object> props = producerProperties(properties);
+
+        SenderOptions<String, WorkoutCommand> senderOptions = SenderOptions.<String, WorkoutCommand>create(props)
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(new WorkoutCommandSerializer(objectMapper))
+                .maxInFlight(maxInFlight)
+                .stopOnError(false);
+        return KafkaSender.create(senderOptions);
+    }
+
+    @Bean
+    public KafkaReceiver<String, WorkoutCommand> kafkaReceiver(KafkaProperties properties, ObservationRegistry observationRegistry,
+            ObjectMapper objectMapper) {
         Map<String, Object> props = properties.buildConsumerProperties(null);
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, String.join(",", properties.getBootstrapServers()));
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         
-        ReceiverOptions<String, String> receiverOptions = ReceiverOptions.<String, String>create(props)
+        ReceiverOptions<String, WorkoutCommand> receiverOptions = ReceiverOptions.<String, WorkoutCommand>create(props)
+                .withKeyDeserializer(new StringDeserializer())
+                .withValueDeserializer(new WorkoutCommandDeserializer(objectMapper))
                 .subscription(Collections.singleton(commandTopic))
                 .withObservation(observationRegistry);
         return KafkaReceiver.create(receiverOptions);
     }
+
+    /**
+     * Receiver for the events topic in a consumer group of its own per instance, so every instance sees
+     * every event. It starts at the end of the topic and never commits: what happened before startup is
+     * covered by the stats load from the database.
+     */
+    @Bean
+    public KafkaReceiver<String, String> eventReceiver(KafkaProperties properties, WorkoutEventOutbox eventOutbox) {
+        Map<String, Object> props = properties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, String.join(",", properties.getBootstrapServers()));
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + ".events." + eventOutbox.instanceId());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ReceiverOptions<String, String> receiverOptions = ReceiverOptions.<String, String>create(props)
+                .withKeyDeserializer(new StringDeserializer())
+                .withValueDeserializer(new StringDeserializer())
+                .subscription(Collections.singleton(eventsTopic));
+        return KafkaReceiver.create(receiverOptions);
+    }
+
+    private Map<String, Object> producerProperties(KafkaProperties properties) {
+        Map<String, Object> props = properties.buildProducerProperties(null);
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, String.join(",", properties.getBootstrapServers()));
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.ACKS_CONFIG, acks);
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequestsPerConnection);
+        return props;
+    }
 }
@@ -0,0 +1,81 @@
+package com.workout.app.config;
+
+import com.workout.app.repository.ReplicaDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Second, read-only connection pool for list and lookup queries (see WorkoutReadRepository), so they
+ * do not compete with Kafka-driven inserts for primary connections. Its metrics are published as
+ * {@code r2dbc.pool.*} tagged {@code name=replica}, next to the primary's {@code name=connectionFactory}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "workout.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String POOL_NAME = "replica";
+
+    @Value("${workout.replica.url}")
+    private String url;
+
+    @Value("${workout.replica.username}")
+    private String username;
+
+    @Value("${workout.replica.password}")
+    private String password;
+
+    @Value("${workout.replica.pool.initial-size:5}")
+    private int initialSize;
+
+    @Value("${workout.replica.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${workout.replica.pool.max-idle-time:30m}")
+    private Duration maxIdleTime;
+
+    // Kept short: a replica that cannot hand out a connection quickly is treated as unavailable.
+    @Value("${workout.replica.pool.max-acquire-time:2s}")
+    private Duration maxAcquireTime;
+
+    @Value("${workout.replica.fetch-size:250}")
+    private int fetchSize;
+
+    @Bean
+    public ReplicaDatabase replicaDatabase(R2dbcConverter converter, MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .option(Option.valueOf("fetchSize"), fetchSize)
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(POOL_NAME)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        new ConnectionPoolMetrics(pool, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(pool)
+                .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+                .build();
+        return new ReplicaDatabase(pool, new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE, converter));
+    }
+}
@@ -0,0 +1,92 @@
+package com.workout.app.config;
+
+import com.workout.app.tracing.RateLimitingSampler;
+import com.workout.app.tracing.TailKeepingSpanProcessor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Replaces Boot's probability sampler. New traces are sampled within per-second budgets per root span
+ * name; child spans, including Kafka consumers continuing a producer's trace, follow their parent's
+ * decision. Unsampled traces are kept after all if they fail or are slow, within their own budget.
+ */
+@Configuration
+public class TracingConfig {
+
+    public static final String TAIL_DROPPED = "workout.tracing.tail.dropped";
+
+    @Value("${workout.tracing.spans-per-second:10}")
+    private int spansPerSecond;
+
+    @Value("${workout.tracing.budgets:}")
+    private String budgets;
+
+    @Value("${workout.tracing.keep-errors-and-slow:true}")
+    private boolean keepErrorsAndSlow;
+
+    @Value("${workout.tracing.slow-threshold:500ms}")
+    private Duration slowThreshold;
+
+    @Value("${workout.tracing.tail-buffer-size:10000}")
+    private long tailBufferSize;
+
+    @Value("${workout.tracing.tail-keeps-per-second:10}")
+    private int tailKeepsPerSecond;
+
+    @Value("${workout.tracing.tail-queue-size:2048}")
+    private int tailQueueSize;
+
+    @Bean
+    public Sampler otelSampler() {
+        Sampler root = new RateLimitingSampler(spansPerSecond, parseBudgets(budgets), keepErrorsAndSlow);
+        return Sampler.parentBasedBuilder(root)
+                .setLocalParentNotSampled(keepErrorsAndSlow ? RateLimitingSampler.recordOnly() : Sampler.alwaysOff())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "workout.tracing.keep-errors-and-slow", havingValue = "true", matchIfMissing = true)
+    public SpanProcessor tailKeepingSpanProcessor(ObjectProvider<SpanExporter> exporters, MeterRegistry meterRegistry) {
+        TailKeepingSpanProcessor processor = new TailKeepingSpanProcessor(SpanExporter.composite(exporters.orderedStream().toList()),
+                slowThreshold, tailBufferSize, tailKeepsPerSecond, tailQueueSize);
+        registerDropped(meterRegistry, processor, "buffer_full", TailKeepingSpanProcessor::droppedBufferFull);
+        registerDropped(meterRegistry, processor, "rate_limited", TailKeepingSpanProcessor::droppedRateLimited);
+        registerDropped(meterRegistry, processor, "queue_full", TailKeepingSpanProcessor::droppedQueueFull);
+        return processor;
+    }
+
+    private static void registerDropped(MeterRegistry meterRegistry, TailKeepingSpanProcessor processor, String reason,
+            ToDoubleFunction<TailKeepingSpanProcessor> count) {
+        FunctionCounter.builder(TAIL_DROPPED, processor, count)
+                .description("Unsampled traces the tail keep dropped")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parses {@code name=spansPerSecond} pairs separated by commas, e.g. {@code http get=50,http post=20}.
+     */
+    private static Map<String, Integer> parseBudgets(String budgets) {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String entry : budgets.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                parsed.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,25 @@
+package com.workout.app.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("workout_outbox")
+public class OutboxEvent {
+    @Id
+    private Long id;
+    private UUID aggregateId;
+    private String eventType;
+    private String payload;
+    private Instant createdAt;
+}
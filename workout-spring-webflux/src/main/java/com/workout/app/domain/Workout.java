@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.Instant;
@@ -26,4 +27,7 @@ public class Workout {
     private String difficulty;
     private Instant createdAt;
     private Instant updatedAt;
+    private UUID correlationId;
+    @Version
+    private long version;
 }
@@ -0,0 +1,7 @@
+package com.workout.app.domain;
+
+/**
+ * Result of an update: the row as written, and the values it had before. {@code previous} only carries
+ * the id and the aggregated fields (type, difficulty, duration, calories).
+ */
+public record WorkoutChange(Workout previous, Workout current) {}
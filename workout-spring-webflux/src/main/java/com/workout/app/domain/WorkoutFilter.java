@@ -0,0 +1,14 @@
+package com.workout.app.domain;
+
+/**
+ * Search filter over workouts; null fields do not filter. Ranges are inclusive.
+ */
+public record WorkoutFilter(
+        String workoutType,
+        String difficulty,
+        Integer minDurationMinutes,
+        Integer maxDurationMinutes,
+        Integer minCaloriesBurned,
+        Integer maxCaloriesBurned
+) {
+}
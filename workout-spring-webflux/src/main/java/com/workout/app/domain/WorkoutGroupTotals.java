@@ -0,0 +1,6 @@
+package com.workout.app.domain;
+
+/**
+ * Count and sums over all workouts with one type and difficulty.
+ */
+public record WorkoutGroupTotals(String workoutType, String difficulty, long count, long durationMinutes, long caloriesBurned) {}
@@ -0,0 +1,18 @@
+package com.workout.app.domain;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Aggregates over all workouts. {@code reconciledAt} is when they were last checked against the database.
+ */
+public record WorkoutStats(
+        long totalWorkouts,
+        double averageDurationMinutes,
+        long totalCaloriesBurned,
+        Map<String, Group> byType,
+        Map<String, Group> byDifficulty,
+        Instant reconciledAt
+) {
+    public record Group(long count, double averageDurationMinutes, long totalCaloriesBurned) {}
+}
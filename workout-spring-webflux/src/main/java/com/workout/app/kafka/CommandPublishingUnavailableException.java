@@ -0,0 +1,16 @@
+package com.workout.app.kafka;
+
+/**
+ * Thrown when a create command cannot be handed to Kafka right now: the shared publishing stream is
+ * restarting, or the broker did not acknowledge the command in time. Retrying later is safe.
+ */
+public class CommandPublishingUnavailableException extends RuntimeException {
+
+    public CommandPublishingUnavailableException(String message) {
+        super(message);
+    }
+
+    public CommandPublishingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,120 @@
+package com.workout.app.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically measures, for every partition of the command topic, how many records lie between the
+ * consumer group's last committed offset and the end of the partition, and publishes it as the
+ * {@code workout.command.consumer.lag} gauge. The lag is the whole group's, whichever instance a
+ * partition is assigned to, so every instance reports the same values and sheds load alike.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsumerLagMonitor {
+
+    public static final String CONSUMER_LAG = "workout.command.consumer.lag";
+
+    private final KafkaReceiver<String, WorkoutCommand> kafkaReceiver;
+    private final MeterRegistry meterRegistry;
+    private final Map<TopicPartition, AtomicLong> lags = new ConcurrentHashMap<>();
+
+    @Value("${kafka.consumer.lag-interval:10s}")
+    private Duration lagInterval;
+
+    @Value("${kafka.topics.commands}")
+    private String commandTopic;
+
+    @PostConstruct
+    public void start() {
+        Flux.interval(lagInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> kafkaReceiver.doOnConsumer(consumer -> committedLag(consumer, commandTopic))
+                        .onErrorResume(e -> {
+                            // The consumer only exists once the receiver has subscribed and joined the group.
+                            log.debug("Consumer lag not available", e);
+                            return Mono.empty();
+                        }))
+                .subscribe(this::update);
+    }
+
+    /**
+     * Lag of the consumer group summed over all partitions of the command topic, as of the last measurement.
+     */
+    public long totalLag() {
+        return lags.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private void update(Map<TopicPartition, Long> measured) {
+        lags.forEach((partition, lag) -> {
+            if (!measured.containsKey(partition)) {
+                lag.set(0);
+            }
+        });
+        measured.forEach((partition, lag) -> lags.computeIfAbsent(partition, this::registerGauge).set(lag));
+    }
+
+    private AtomicLong registerGauge(TopicPartition partition) {
+        AtomicLong lag = new AtomicLong();
+        Gauge.builder(CONSUMER_LAG, lag, AtomicLong::get)
+                .description("Records between the committed offset and the end of the partition")
+                .baseUnit("records")
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .register(meterRegistry);
+        return lag;
+    }
+
+    /**
+     * Runs on the consumer thread. Committed offsets are the group's, so partitions assigned to other
+     * instances are measured too; partitions without a committed offset count from the log start.
+     */
+    private static Map<TopicPartition, Long> committedLag(Consumer<?, ?> consumer, String topic) {
+        List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic);
+        if (partitionInfos == null || partitionInfos.isEmpty()) {
+            return Map.of();
+        }
+        Set<TopicPartition> partitions = new HashSet<>();
+        partitionInfos.forEach(info -> partitions.add(new TopicPartition(info.topic(), info.partition())));
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(partitions);
+
+        Set<TopicPartition> uncommitted = new HashSet<>();
+        partitions.forEach(partition -> {
+            if (committed.get(partition) == null) {
+                uncommitted.add(partition);
+            }
+        });
+        Map<TopicPartition, Long> startOffsets = uncommitted.isEmpty() ? Map.of() : consumer.beginningOffsets(uncommitted);
+
+        Map<TopicPartition, Long> lag = new HashMap<>();
+        endOffsets.forEach((partition, end) -> {
+            OffsetAndMetadata offset = committed.get(partition);
+            long from = offset != null ? offset.offset() : startOffsets.getOrDefault(partition, end);
+            lag.put(partition, Math.max(0, end - from));
+        });
+        return lag;
+    }
+}
@@ -0,0 +1,75 @@
+package com.workout.app.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Parks command records that can never be processed (malformed payloads, constraint violations)
+ * on the dead-letter topic so their offsets can be committed without losing them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadLetterPublisher {
+
+    private final KafkaSender<String, String> kafkaSender;
+    private final ObjectMapper objectMapper;
+
+    @Value("${kafka.topics.commands-dlt}")
+    private String deadLetterTopic;
+
+    public Mono<Void> publish(ReceiverRecord<String, WorkoutCommand> event, Throwable cause) {
+        return Mono.defer(() -> {
+            String value;
+            try {
+                value = originalValue(event);
+            } catch (JsonProcessingException e) {
+                return Mono.error(e);
+            }
+            List<Header> headers = List.of(
+                    header("dlt-original-topic", event.topic()),
+                    header("dlt-original-partition", String.valueOf(event.partition())),
+                    header("dlt-original-offset", String.valueOf(event.offset())),
+                    header("dlt-exception", cause.getClass().getName()),
+                    header("dlt-exception-message", String.valueOf(cause.getMessage())));
+            ProducerRecord<String, String> record = new ProducerRecord<>(deadLetterTopic, null, event.key(), value, headers);
+
+            return kafkaSender.send(Mono.just(SenderRecord.create(record, event.offset())))
+                    .next()
+                    .flatMap(result -> result.exception() != null ? Mono.error(result.exception()) : Mono.just(result));
+        })
+                .doOnSuccess(result -> log.warn("Sent record {}-{}@{} to dead-letter topic {}: {}",
+                        event.topic(), event.partition(), event.offset(), deadLetterTopic, cause.toString()))
+                .then();
+    }
+
+    /**
+     * The original payload: the raw bytes kept by the deserializer for undecodable records, otherwise
+     * the decoded command written back out.
+     */
+    private String originalValue(ReceiverRecord<String, WorkoutCommand> event) throws JsonProcessingException {
+        if (event.value() == null) {
+            byte[] raw = WorkoutCommandDeserializer.rawValue(event.headers());
+            return raw != null ? new String(raw, StandardCharsets.UTF_8) : null;
+        }
+        return objectMapper.writeValueAsString(event.value());
+    }
+
+    private static Header header(String key, String value) {
+        return new RecordHeader(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
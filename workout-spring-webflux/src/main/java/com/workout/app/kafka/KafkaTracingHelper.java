@@ -4,38 +4,88 @@ import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.kafka.receiver.observation.KafkaReceiverObservation;
 import reactor.kafka.receiver.observation.KafkaRecordReceiverContext;
+import reactor.kafka.sender.observation.KafkaRecordSenderContext;
+import reactor.kafka.sender.observation.KafkaSenderObservation;
+
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class KafkaTracingHelper {
 
+    private static final String TRACEPARENT_HEADER = "traceparent";
+    // "00-" + 32 hex trace id + "-" + 16 hex span id + "-" + 2 hex flags
+    private static final int TRACEPARENT_LENGTH = 55;
+
     private final ObservationRegistry observationRegistry;
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     /**
-     * Wraps a Kafka record processing Mono with Micrometer Observation for
-     * distributed tracing.
-     * This follows the official Reactor Kafka recommendation for consumer tracing.
+     * Wraps the processing of a batch of Kafka records with Micrometer Observations for distributed
+     * tracing, following the Reactor Kafka recommendation for consumer tracing: one receiver observation
+     * per record so every producer trace stays connected, all stopped when the batch terminates. The
+     * first record's observation becomes the parent for spans created while processing the batch.
+     * Records whose trace was not sampled get no observation at all.
      */
-    public <K, V, T> Mono<T> traceConsumer(ReceiverRecord<K, V> event, String observationName,
+    public <K, V, T> Mono<T> traceBatch(List<? extends ReceiverRecord<K, V>> events, String observationName,
             Mono<T> processingMono) {
-        Observation receiverObservation = KafkaReceiverObservation.RECEIVER_OBSERVATION.start(
+        List<Observation> receiverObservations = events.stream()
+                .filter(KafkaTracingHelper::isSampled)
+                .map(event -> startReceiverObservation(event, observationName))
+                .toList();
+        if (receiverObservations.isEmpty()) {
+            return processingMono;
+        }
+
+        return processingMono
+                .doOnError(e -> receiverObservations.forEach(observation -> observation.error(e)))
+                .doOnTerminate(() -> receiverObservations.forEach(Observation::stop))
+                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, receiverObservations.get(0)));
+    }
+
+    /**
+     * Starts a sender observation for a record published through a shared send stream, parented to the
+     * observation of the calling request. Starting it injects the trace headers into the record.
+     */
+    public Observation startSenderObservation(ProducerRecord<?, ?> record, String producerId, Observation parent) {
+        return KafkaSenderObservation.SENDER_OBSERVATION.observation(
+                        null,
+                        KafkaSenderObservation.DefaultKafkaSenderObservationConvention.INSTANCE,
+                        () -> new KafkaRecordSenderContext(record, producerId, bootstrapServers),
+                        observationRegistry)
+                .parentObservation(parent)
+                .start();
+    }
+
+    /**
+     * False only for records carrying a W3C trace context with the sampled flag off. Records without one
+     * start a new trace and are left to the sampler.
+     */
+    private static boolean isSampled(ReceiverRecord<?, ?> event) {
+        Header traceparent = event.headers().lastHeader(TRACEPARENT_HEADER);
+        if (traceparent == null || traceparent.value() == null || traceparent.value().length != TRACEPARENT_LENGTH) {
+            return true;
+        }
+        byte[] value = traceparent.value();
+        int flags = Character.digit(value[value.length - 1], 16);
+        return flags < 0 || (flags & 1) == 1;
+    }
+
+    private <K, V> Observation startReceiverObservation(ReceiverRecord<K, V> event, String observationName) {
+        return KafkaReceiverObservation.RECEIVER_OBSERVATION.start(
                 null,
                 KafkaReceiverObservation.DefaultKafkaReceiverObservationConvention.INSTANCE,
                 () -> new KafkaRecordReceiverContext(event, observationName, bootstrapServers),
                 observationRegistry);
-
-        return processingMono
-                .doOnTerminate(receiverObservation::stop)
-                .doOnError(receiverObservation::error)
-                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, receiverObservation));
     }
 }
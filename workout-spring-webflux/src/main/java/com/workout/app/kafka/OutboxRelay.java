@@ -0,0 +1,91 @@
+package com.workout.app.kafka;
+
+import com.workout.app.domain.OutboxEvent;
+import com.workout.app.repository.WorkoutOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publishes outbox rows to the events topic in batches, in id order. Only one instance relays at a time
+ * (it holds an advisory lock for the batch's transaction), so events for the same workout never race
+ * each other to Kafka. Rows are deleted in the same transaction once every record is acknowledged, so a
+ * failed send leaves them for the next poll (at-least-once; consumers can dedupe on the {@code event-id}
+ * header).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final WorkoutOutboxRepository outboxRepository;
+    private final KafkaSender<String, String> kafkaSender;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${kafka.topics.events}")
+    private String eventsTopic;
+
+    @Value("${workout.outbox.poll-interval:500ms}")
+    private Duration pollInterval;
+
+    @Value("${workout.outbox.batch-size:200}")
+    private int batchSize;
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting outbox relay (pollInterval={}, batchSize={})...", pollInterval, batchSize);
+
+        Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.error("Error relaying outbox events, retrying on next poll", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Relays full batches back to back until the outbox is empty.
+     */
+    private Mono<Integer> drain() {
+        return relayBatch()
+                .flatMap(relayed -> relayed == batchSize ? drain() : Mono.just(relayed));
+    }
+
+    private Mono<Integer> relayBatch() {
+        return outboxRepository.tryLockRelay()
+                .flatMap(leader -> leader ? outboxRepository.findPending(batchSize).collectList() : Mono.just(List.<OutboxEvent>of()))
+                .flatMap(events -> events.isEmpty() ? Mono.just(0) : publish(events)
+                        .then(outboxRepository.deleteByIdIn(events.stream().map(OutboxEvent::getId).toList()))
+                        .doOnSuccess(deleted -> log.debug("Relayed {} outbox events to {}", deleted, eventsTopic))
+                        .thenReturn(events.size()))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Void> publish(List<OutboxEvent> events) {
+        return kafkaSender.send(Flux.fromIterable(events).map(this::toSenderRecord))
+                .flatMap(result -> result.exception() != null ? Mono.error(result.exception()) : Mono.just(result))
+                .then();
+    }
+
+    private SenderRecord<String, String, Long> toSenderRecord(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(eventsTopic, event.getAggregateId().toString(), event.getPayload());
+        record.headers().add(new RecordHeader("event-id", String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8)));
+        record.headers().add(new RecordHeader("event-type", event.getEventType().getBytes(StandardCharsets.UTF_8)));
+        return SenderRecord.create(record, event.getId());
+    }
+}
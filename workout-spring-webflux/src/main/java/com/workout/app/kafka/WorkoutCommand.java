@@ -0,0 +1,66 @@
+package com.workout.app.kafka;
+
+import com.workout.app.api.dto.CreateWorkoutRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Envelope of a create command on the commands topic. {@code version} is the envelope schema
+ * version; messages written before it existed have no field and decode as version 0, which has the
+ * same layout as version 1. {@code issuedAt} is when the API accepted the command; it is null on
+ * commands written before it was added. {@code idempotencyKey} is the client's {@code Idempotency-Key},
+ * if it sent one; the correlation id is then derived from it and the request (see {@link #correlationIdFor}).
+ */
+public record WorkoutCommand(int version, UUID correlationId, Instant issuedAt, String idempotencyKey, CreateWorkoutRequest request) {
+    public static final int CURRENT_VERSION = 1;
+
+    public static WorkoutCommand create(UUID correlationId, CreateWorkoutRequest request) {
+        return create(correlationId, null, request);
+    }
+
+    public static WorkoutCommand create(UUID correlationId, String idempotencyKey, CreateWorkoutRequest request) {
+        return new WorkoutCommand(CURRENT_VERSION, correlationId, Instant.now(), idempotencyKey, request);
+    }
+
+    /**
+     * Name-based correlation id for an idempotency key and the request sent with it, so a retried request
+     * maps to the same workout row on every instance and the command id claim rejects the duplicate. The
+     * request's fingerprint is part of the name: a key reused with a different body (or by another client)
+     * gets its own workout instead of being answered with the first request's.
+     */
+    public static UUID correlationIdFor(String idempotencyKey, CreateWorkoutRequest request) {
+        return UUID.nameUUIDFromBytes(("workout-create:" + idempotencyKey + ":" + fingerprint(request))
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * SHA-256 over the request's fields, each length-prefixed so that no two different requests encode alike.
+     */
+    static String fingerprint(CreateWorkoutRequest request) {
+        StringBuilder encoded = new StringBuilder();
+        for (Object field : new Object[] {request.name(), request.description(), request.workoutType(),
+                request.durationMinutes(), request.caloriesBurned(), request.difficulty()}) {
+            if (field == null) {
+                encoded.append("-;");
+            } else {
+                String value = field.toString();
+                encoded.append(value.length()).append(':').append(value).append(';');
+            }
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(encoded.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean isSupportedVersion() {
+        return version >= 0 && version <= CURRENT_VERSION;
+    }
+}
@@ -1,17 +1,33 @@
 package com.workout.app.kafka;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workout.app.api.dto.CreateWorkoutRequest;
+import com.workout.app.domain.Workout;
 import com.workout.app.service.WorkoutService;
 import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.GroupedFlux;
 import reactor.core.publisher.Mono;
 import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
 
-import java.util.Map;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -19,45 +35,147 @@ import java.util.Map;
 public class WorkoutCommandConsumer {
 
     private final WorkoutService workoutService;
-    private final ObjectMapper objectMapper;
-    private final KafkaReceiver<String, String> kafkaReceiver;
+    private final Validator validator;
+    private final KafkaReceiver<String, WorkoutCommand> kafkaReceiver;
     private final KafkaTracingHelper tracingHelper;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final WorkoutCommandMetrics commandMetrics;
+
+    @Value("${kafka.consumer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${kafka.consumer.batch-window:250ms}")
+    private Duration batchWindow;
+
+    @Value("${kafka.consumer.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${kafka.consumer.retry-backoff:500ms}")
+    private Duration retryBackoff;
 
     @PostConstruct
     public void start() {
-        log.info("Starting Kafka consumer...");
+        log.info("Starting Kafka consumer (batchSize={}, batchWindow={})...", batchSize, batchWindow);
 
+        // One ordered lane per assigned partition; lanes run in parallel. flatMap's default
+        // concurrency (256) has to stay above the number of partitions of the command topic.
         kafkaReceiver.receive()
-                .flatMap(event -> tracingHelper.traceConsumer(
-                        event,
-                        "workout.command.consume",
-                        processMessage(event.value())
-                                .doOnSuccess(v -> {
-                                    event.receiverOffset().acknowledge();
-                                    log.info("Successfully processed and acknowledged record");
-                                })
-                                .onErrorResume(e -> {
-                                    log.error("Error processing Kafka message", e);
-                                    return Mono.empty();
-                                })))
+                .groupBy(event -> event.receiverOffset().topicPartition())
+                .flatMap(this::processPartition)
+                .doOnError(e -> log.error("Kafka consumer failed, restarting from last committed offsets", e))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
                 .subscribe();
     }
 
-    private Mono<Void> processMessage(String message) {
-        return Mono.defer(() -> {
-            try {
-                Map<String, Object> map = objectMapper.readValue(message, new TypeReference<>() {
+    private Flux<Void> processPartition(GroupedFlux<TopicPartition, ReceiverRecord<String, WorkoutCommand>> partition) {
+        log.info("Opening processing lane for partition {}", partition.key());
+        return partition
+                .doOnNext(commandMetrics::recordTimeInTopic)
+                // Fair backpressure: the buffer waits for concatMap to request the next batch instead of
+                // overflowing (and restarting the receiver) while a slow batch is still being written.
+                .bufferTimeout(batchSize, batchWindow, true)
+                .concatMap(batch -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return tracingHelper.traceBatch(
+                                    batch,
+                                    "workout.command.consume",
+                                    processBatch(batch))
+                            .then(Mono.defer(() -> commitBatch(batch)))
+                            .doOnSuccess(v -> commandMetrics.recordProcessing(start));
+                }));
+    }
+
+    /**
+     * Persists a batch, completing only once every record has either been written or parked on the
+     * dead-letter topic. Transient failures that outlast the retries are propagated so the batch is
+     * never committed and gets redelivered.
+     */
+    private Mono<Void> processBatch(List<ReceiverRecord<String, WorkoutCommand>> batch) {
+        List<ReceiverRecord<String, WorkoutCommand>> parsed = new ArrayList<>(batch.size());
+        List<WorkoutCommand> commands = new ArrayList<>(batch.size());
+        List<Mono<Void>> deadLetters = new ArrayList<>();
+        for (ReceiverRecord<String, WorkoutCommand> event : batch) {
+            RuntimeException rejection = validate(event);
+            if (rejection != null) {
+                log.error("Rejecting Kafka message at {}@{}", event.receiverOffset().topicPartition(), event.offset(), rejection);
+                deadLetters.add(deadLetterPublisher.publish(event, rejection));
+            } else {
+                log.info("Processing workout creation for correlationId: {}", event.value().correlationId());
+                commands.add(event.value());
+                parsed.add(event);
+            }
+        }
+
+        Mono<Void> persist = commands.isEmpty() ? Mono.empty() : workoutService.createAll(commands)
+                .collectList()
+                .retryWhen(transientRetry())
+                .doOnSuccess(saved -> {
+                    log.info("Persisted batch of {} workouts from {} records", saved.size(), batch.size());
+                    commandMetrics.recordDuplicates(commands.size() - saved.size());
+                    recordPersisted(commands, saved);
+                })
+                .then()
+                .onErrorResume(WorkoutCommandConsumer::isPermanent, e -> {
+                    log.warn("Batch insert of {} workouts rejected, retrying records one by one", commands.size(), e);
+                    return createOneByOne(parsed, commands);
                 });
-                String correlationId = (String) map.get("correlationId");
-                CreateWorkoutRequest request = objectMapper.convertValue(map.get("request"),
-                        CreateWorkoutRequest.class);
 
-                log.info("Processing workout creation for correlationId: {}", correlationId);
+        return Mono.when(deadLetters).then(persist);
+    }
 
-                return workoutService.create(request).then();
-            } catch (Exception e) {
-                return Mono.error(e);
+    private Mono<Void> createOneByOne(List<ReceiverRecord<String, WorkoutCommand>> events, List<WorkoutCommand> commands) {
+        return Flux.range(0, events.size())
+                .concatMap(i -> workoutService.create(commands.get(i))
+                        .retryWhen(transientRetry())
+                        .doOnNext(saved -> commandMetrics.recordPersisted(commands.get(i), Instant.now()))
+                        .switchIfEmpty(Mono.fromRunnable(() -> commandMetrics.recordDuplicates(1)))
+                        .then()
+                        .onErrorResume(WorkoutCommandConsumer::isPermanent,
+                                e -> deadLetterPublisher.publish(events.get(i), e)))
+                .then();
+    }
+
+    /**
+     * Records end-to-end latency for the commands that produced a row; duplicates and dead-lettered
+     * commands are left out.
+     */
+    private void recordPersisted(List<WorkoutCommand> commands, List<Workout> saved) {
+        Instant persistedAt = Instant.now();
+        Set<UUID> persisted = saved.stream().map(Workout::getCorrelationId).collect(Collectors.toSet());
+        for (WorkoutCommand command : commands) {
+            if (persisted.contains(command.correlationId())) {
+                commandMetrics.recordPersisted(command, persistedAt);
             }
-        });
+        }
+    }
+
+    private Mono<Void> commitBatch(List<ReceiverRecord<String, WorkoutCommand>> batch) {
+        batch.forEach(event -> event.receiverOffset().acknowledge());
+        return batch.get(batch.size() - 1).receiverOffset().commit()
+                .doOnSuccess(v -> log.debug("Committed offsets for batch of {} records", batch.size()));
+    }
+
+    private Retry transientRetry() {
+        return Retry.backoff(maxRetries, retryBackoff)
+                .filter(e -> !isPermanent(e));
+    }
+
+    private static boolean isPermanent(Throwable e) {
+        return e instanceof DataIntegrityViolationException;
+    }
+
+    /**
+     * Returns why the record cannot be processed, or {@code null} if it is a valid command.
+     */
+    private RuntimeException validate(ReceiverRecord<String, WorkoutCommand> event) {
+        WorkoutCommand command = event.value();
+        if (command == null) {
+            return new SerializationException(WorkoutCommandDeserializer.error(event.headers()));
+        }
+        if (command.correlationId() == null || command.request() == null) {
+            return new SerializationException("Workout command without correlationId or request");
+        }
+        Set<ConstraintViolation<CreateWorkoutRequest>> violations = validator.validate(command.request());
+        return violations.isEmpty() ? null : new ConstraintViolationException(violations);
     }
 }
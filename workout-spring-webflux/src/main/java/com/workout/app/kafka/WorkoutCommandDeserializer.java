@@ -0,0 +1,71 @@
+package com.workout.app.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads {@link WorkoutCommand} directly from the record bytes in a single pass.
+ * <p>
+ * A poison record must not fail the consumer's poll, so undecodable payloads and unsupported schema
+ * versions decode to {@code null}; the original bytes and the reason are attached as record headers
+ * for the dead-letter topic.
+ */
+@Slf4j
+public class WorkoutCommandDeserializer implements Deserializer<WorkoutCommand> {
+
+    public static final String RAW_VALUE_HEADER = "workout-command-raw";
+    public static final String ERROR_HEADER = "workout-command-error";
+
+    private final ObjectReader reader;
+
+    public WorkoutCommandDeserializer(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(WorkoutCommand.class);
+    }
+
+    @Override
+    public WorkoutCommand deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public WorkoutCommand deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            WorkoutCommand command = reader.readValue(data);
+            if (!command.isSupportedVersion()) {
+                return reject(topic, headers, data, "Unsupported workout command version " + command.version());
+            }
+            return command;
+        } catch (IOException | RuntimeException e) {
+            return reject(topic, headers, data, e.toString());
+        }
+    }
+
+    public static byte[] rawValue(Headers headers) {
+        Header header = headers.lastHeader(RAW_VALUE_HEADER);
+        return header != null ? header.value() : null;
+    }
+
+    public static String error(Headers headers) {
+        Header header = headers.lastHeader(ERROR_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : "Empty workout command";
+    }
+
+    private static WorkoutCommand reject(String topic, Headers headers, byte[] data, String reason) {
+        log.error("Cannot decode workout command from {}: {}", topic, reason);
+        if (headers != null) {
+            headers.add(RAW_VALUE_HEADER, data);
+            headers.add(ERROR_HEADER, reason.getBytes(StandardCharsets.UTF_8));
+        }
+        return null;
+    }
+}
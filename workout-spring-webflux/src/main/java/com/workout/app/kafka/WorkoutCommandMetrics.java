@@ -0,0 +1,117 @@
+package com.workout.app.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.kafka.receiver.ReceiverRecord;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers along the async create path, from the API accepting a command to its row being written.
+ * SLO buckets for each timer are configured under {@code management.metrics.distribution.slo}.
+ */
+@Component
+public class WorkoutCommandMetrics {
+
+    public static final String PUBLISH = "workout.command.publish";
+    public static final String TIME_IN_TOPIC = "workout.command.time.in.topic";
+    public static final String PROCESSING = "workout.command.processing";
+    public static final String END_TO_END = "workout.command.end.to.end";
+    public static final String REPOSITORY_SAVE = "workout.repository.save";
+    public static final String DUPLICATES = "workout.command.duplicates";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer publishSuccess;
+    private final Timer publishFailure;
+    private final Timer timeInTopic;
+    private final Timer processing;
+    private final Timer endToEnd;
+    private final Counter duplicates;
+
+    public WorkoutCommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.publishSuccess = publishTimer("success");
+        this.publishFailure = publishTimer("failure");
+        this.timeInTopic = Timer.builder(TIME_IN_TOPIC)
+                .description("Time from a command record's timestamp until the consumer receives it")
+                .register(meterRegistry);
+        this.processing = Timer.builder(PROCESSING)
+                .description("Time to persist a batch of commands and commit its offsets")
+                .register(meterRegistry);
+        this.endToEnd = Timer.builder(END_TO_END)
+                .description("Time from the API accepting a create command until the workout is persisted")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder(DUPLICATES)
+                .description("Create commands skipped because their workout was already persisted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the time from handing a command to the producer until the broker acknowledged it (or failed).
+     */
+    public void recordPublish(long startNanos, boolean success) {
+        (success ? publishSuccess : publishFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTimeInTopic(ReceiverRecord<?, ?> record) {
+        if (record.timestamp() >= 0) {
+            timeInTopic.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordProcessing(long startNanos) {
+        processing.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPersisted(WorkoutCommand command, Instant persistedAt) {
+        if (command.issuedAt() != null) {
+            endToEnd.record(Duration.between(command.issuedAt(), persistedAt));
+        }
+    }
+
+    public void recordDuplicates(long count) {
+        if (count > 0) {
+            duplicates.increment(count);
+        }
+    }
+
+    /**
+     * Times a repository write from subscription until it terminates, tagged by operation and outcome.
+     */
+    public <T> Flux<T> timeSave(String operation, Flux<T> save) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return save.doFinally(signal -> recordSave(operation, signal, start));
+        });
+    }
+
+    public <T> Mono<T> timeSave(String operation, Mono<T> save) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return save.doFinally(signal -> recordSave(operation, signal, start));
+        });
+    }
+
+    private void recordSave(String operation, SignalType signal, long startNanos) {
+        Timer.builder(REPOSITORY_SAVE)
+                .description("Time to write workouts to the database")
+                .tag("operation", operation)
+                .tag("outcome", signal == SignalType.ON_COMPLETE ? "success" : signal == SignalType.ON_ERROR ? "failure" : "cancelled")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer publishTimer(String outcome) {
+        return Timer.builder(PUBLISH)
+                .description("Time from publishing a create command until the broker acknowledges it")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,53 +1,150 @@
 package com.workout.app.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workout.app.api.dto.CreateWorkoutRequest;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.util.retry.Retry;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Publishes create commands through one long-lived send stream shared by all requests, so the
+ * producer can batch and compress records from concurrent requests. Each caller still gets its own
+ * completion signal once the broker acknowledges its record, or an error after {@code publish-timeout}.
+ * <p>
+ * If the stream terminates, the commands handed to it are failed, new commands are rejected with
+ * {@link CommandPublishingUnavailableException} and the stream is resubscribed with backoff.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WorkoutCommandProducer {
 
-    private final KafkaSender<String, String> kafkaSender;
-    private final ObjectMapper objectMapper;
-    
+    private static final String PRODUCER_ID = "workout-command-producer";
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+
+    private final KafkaSender<String, WorkoutCommand> commandSender;
+    private final KafkaTracingHelper tracingHelper;
+    private final WorkoutCommandMetrics commandMetrics;
+    private final Set<PendingCommand> pending = ConcurrentHashMap.newKeySet();
+    /** The current stream's input; null while the stream is down. */
+    private volatile Sinks.Many<SenderRecord<String, WorkoutCommand, PendingCommand>> outbound;
+
     @Value("${kafka.topics.commands}")
     private String commandTopic;
 
+    @Value("${kafka.producer.publish-timeout:10s}")
+    private Duration publishTimeout;
+
+    @Value("${kafka.producer.restart-backoff:1s}")
+    private Duration restartBackoff;
+
+    @PostConstruct
+    public void start() {
+        Flux.defer(() -> {
+                    Sinks.Many<SenderRecord<String, WorkoutCommand, PendingCommand>> sink = Sinks.many().unicast().onBackpressureBuffer();
+                    outbound = sink;
+                    return commandSender.send(sink.asFlux())
+                            .concatWith(Mono.error(() -> new IllegalStateException("Command publishing stream completed")));
+                })
+                .doOnError(this::streamFailed)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, restartBackoff).maxBackoff(Duration.ofSeconds(30)).transientErrors(true))
+                .subscribe(this::complete);
+    }
+
     public Mono<UUID> publishCreateCommand(CreateWorkoutRequest request) {
-        UUID correlationId = UUID.randomUUID();
-        
-        return Mono.defer(() -> {
-            try {
-                Map<String, Object> message = Map.of(
-                    "correlationId", correlationId.toString(),
-                    "request", request
-                );
-
-                String json = objectMapper.writeValueAsString(message);
-                ProducerRecord<String, String> event = new ProducerRecord<>(commandTopic, correlationId.toString(), json);
-                SenderRecord<String, String, UUID> senderRecord = SenderRecord.create(event, correlationId);
-
-                return kafkaSender.send(Mono.just(senderRecord))
-                        .next()
-                        .doOnSuccess(result -> log.info("Published create command for correlationId: {}", correlationId))
-                        .thenReturn(correlationId);
-
-            } catch (JsonProcessingException e) {
-                return Mono.error(new RuntimeException(e));
-            }
-        });
+        return publishCreateCommand(request, null);
+    }
+
+    /**
+     * Publishes a create command; with an idempotency key the correlation id is derived from the key and
+     * the request instead of being random.
+     */
+    public Mono<UUID> publishCreateCommand(CreateWorkoutRequest request, String idempotencyKey) {
+        return Mono.deferContextual(context -> {
+            UUID correlationId = idempotencyKey != null ? WorkoutCommand.correlationIdFor(idempotencyKey, request) : UUID.randomUUID();
+            ProducerRecord<String, WorkoutCommand> event = new ProducerRecord<>(commandTopic, correlationId.toString(),
+                    WorkoutCommand.create(correlationId, idempotencyKey, request));
+            Observation parent = context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+
+            return Mono.<UUID>create(sink -> {
+                Sinks.Many<SenderRecord<String, WorkoutCommand, PendingCommand>> stream = outbound;
+                if (stream == null) {
+                    sink.error(new CommandPublishingUnavailableException("Command publishing is restarting, retry later"));
+                    return;
+                }
+                Observation observation = tracingHelper.startSenderObservation(event, PRODUCER_ID, parent);
+                PendingCommand command = new PendingCommand(correlationId, sink, observation, System.nanoTime());
+                pending.add(command);
+                try {
+                    stream.emitNext(SenderRecord.create(event, command), Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+                } catch (RuntimeException e) {
+                    fail(command, e);
+                    return;
+                }
+                // The stream failed while we emitted; streamFailed may have drained the set before our add.
+                if (outbound != stream) {
+                    fail(command, new CommandPublishingUnavailableException("Command publishing is restarting, retry later"));
+                }
+            }).timeout(publishTimeout, Mono.error(() -> new CommandPublishingUnavailableException(
+                    "Create command not acknowledged within " + publishTimeout + ", retry later")));
+        }).doOnSuccess(correlationId -> log.info("Published create command for correlationId: {}", correlationId));
     }
+
+    /**
+     * Commands handed to the send stream whose broker acknowledgement has not arrived yet.
+     */
+    public int inFlight() {
+        return pending.size();
+    }
+
+    private void complete(SenderResult<PendingCommand> result) {
+        PendingCommand command = result.correlationMetadata();
+        if (result.exception() != null) {
+            fail(command, result.exception());
+        } else if (pending.remove(command)) {
+            commandMetrics.recordPublish(command.startNanos(), true);
+            command.observation().stop();
+            command.sink().success(command.correlationId());
+        }
+    }
+
+    /**
+     * Rejects new commands until the stream is resubscribed, and fails the ones handed to the dead stream:
+     * buffered or unacknowledged, they will never be completed.
+     */
+    private void streamFailed(Throwable e) {
+        log.error("Command publishing stream terminated, restarting", e);
+        outbound = null;
+        CommandPublishingUnavailableException failure =
+                new CommandPublishingUnavailableException("Command publishing stream terminated, retry later", e);
+        pending.forEach(command -> fail(command, failure));
+    }
+
+    private void fail(PendingCommand command, Throwable e) {
+        if (pending.remove(command)) {
+            commandMetrics.recordPublish(command.startNanos(), false);
+            command.observation().error(e);
+            command.observation().stop();
+            command.sink().error(e);
+        }
+    }
+
+    private record PendingCommand(UUID correlationId, MonoSink<UUID> sink, Observation observation, long startNanos) {}
 }
@@ -0,0 +1,31 @@
+package com.workout.app.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Writes {@link WorkoutCommand} straight to UTF-8 JSON bytes with a pre-resolved writer.
+ */
+public class WorkoutCommandSerializer implements Serializer<WorkoutCommand> {
+
+    private final ObjectWriter writer;
+
+    public WorkoutCommandSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(WorkoutCommand.class);
+    }
+
+    @Override
+    public byte[] serialize(String topic, WorkoutCommand command) {
+        if (command == null) {
+            return null;
+        }
+        try {
+            return writer.writeValueAsBytes(command);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Error serializing workout command " + command.correlationId(), e);
+        }
+    }
+}
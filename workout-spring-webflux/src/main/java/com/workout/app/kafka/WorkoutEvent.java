@@ -0,0 +1,29 @@
+package com.workout.app.kafka;
+
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutChange;
+
+import java.util.UUID;
+
+/**
+ * Change event published to the events topic. {@code workout} is the row after the change (null for
+ * deletes) and {@code previous} its values before (null for creates; for updates only the aggregated
+ * fields are set). {@code origin} is the instance that made the change, stamped by the outbox.
+ */
+public record WorkoutEvent(WorkoutEventType eventType, UUID workoutId, Workout workout, Workout previous, String origin,
+        long timestamp) {
+    public static WorkoutEvent created(Workout workout) {
+        return new WorkoutEvent(WorkoutEventType.Created, workout.getId(), workout, null, null, System.currentTimeMillis());
+    }
+    public static WorkoutEvent updated(WorkoutChange change) {
+        return new WorkoutEvent(WorkoutEventType.Updated, change.current().getId(), change.current(), change.previous(), null,
+                System.currentTimeMillis());
+    }
+    public static WorkoutEvent deleted(Workout workout) {
+        return new WorkoutEvent(WorkoutEventType.Deleted, workout.getId(), null, workout, null, System.currentTimeMillis());
+    }
+
+    WorkoutEvent withOrigin(String origin) {
+        return new WorkoutEvent(eventType, workoutId, workout, previous, origin, timestamp);
+    }
+}
@@ -0,0 +1,75 @@
+package com.workout.app.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.app.domain.WorkoutChange;
+import com.workout.app.service.CommandStatusTracker;
+import com.workout.app.service.WorkoutStatistics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Applies the changes other instances publish to the events topic to this instance's in-memory state,
+ * and wakes requests waiting here for a create command another instance consumed. This instance's own
+ * writes are applied directly when they commit, so its events are skipped. Events arrive at least once
+ * and only after the outbox relay has picked them up, so the stats reload remains the correction step
+ * for redelivered events and for writes that do not go through the outbox.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkoutEventListener {
+
+    private final KafkaReceiver<String, String> eventReceiver;
+    private final ObjectMapper objectMapper;
+    private final WorkoutEventOutbox eventOutbox;
+    private final WorkoutStatistics statistics;
+    private final CommandStatusTracker commandStatusTracker;
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting workout event listener (instance {})...", eventOutbox.instanceId());
+
+        eventReceiver.receive()
+                .doOnNext(this::handle)
+                .doOnError(e -> log.error("Workout event listener failed, resubscribing", e))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    private void handle(ReceiverRecord<String, String> record) {
+        WorkoutEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), WorkoutEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable workout event at {}@{}", record.receiverOffset().topicPartition(), record.offset(), e);
+            return;
+        }
+        if (eventOutbox.instanceId().equals(event.origin())) {
+            return;
+        }
+        switch (event.eventType()) {
+            case Created -> {
+                statistics.created(event.workout());
+                commandStatusTracker.completed(event.workout());
+            }
+            case Updated -> {
+                if (event.previous() != null) {
+                    statistics.updated(new WorkoutChange(event.previous(), event.workout()));
+                }
+            }
+            case Deleted -> {
+                if (event.previous() != null) {
+                    statistics.deleted(event.previous());
+                }
+            }
+        }
+    }
+}
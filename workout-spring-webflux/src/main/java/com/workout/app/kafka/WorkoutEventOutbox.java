@@ -0,0 +1,53 @@
+package com.workout.app.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workout.app.domain.OutboxEvent;
+import com.workout.app.repository.WorkoutOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records workout change events in the outbox table. Callers must run this in the same transaction
+ * as the workout write so events are stored if and only if the change commits. Every event is stamped
+ * with this instance's id, so {@link WorkoutEventListener} can tell its own events from other instances'.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkoutEventOutbox {
+
+    private final WorkoutOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    public Mono<Void> append(WorkoutEvent event) {
+        return append(List.of(event));
+    }
+
+    public Mono<Void> append(List<WorkoutEvent> events) {
+        return Mono.defer(() -> {
+            List<OutboxEvent> rows = new ArrayList<>(events.size());
+            for (WorkoutEvent event : events) {
+                try {
+                    rows.add(OutboxEvent.builder()
+                            .aggregateId(event.workoutId())
+                            .eventType(event.eventType().name())
+                            .payload(objectMapper.writeValueAsString(event.withOrigin(instanceId)))
+                            .build());
+                } catch (JsonProcessingException e) {
+                    return Mono.error(new RuntimeException(e));
+                }
+            }
+            return outboxRepository.appendAll(rows);
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.workout.app.kafka;
+
+public enum WorkoutEventType {
+    Created,
+    Updated,
+    Deleted
+}
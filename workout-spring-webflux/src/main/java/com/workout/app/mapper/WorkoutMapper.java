@@ -19,6 +19,8 @@ public interface WorkoutMapper {
     @Mapping(target = "difficulty", expression = "java(request.difficulty().name())")
     @Mapping(target = "createdAt", expression = "java(java.time.Instant.now())")
     @Mapping(target = "updatedAt", expression = "java(java.time.Instant.now())")
+    @Mapping(target = "correlationId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Workout toWorkout(CreateWorkoutRequest request);
 
     @Mapping(target = "id", ignore = true)
@@ -26,6 +28,8 @@ public interface WorkoutMapper {
     @Mapping(target = "workoutType", ignore = true)
     @Mapping(target = "difficulty", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "correlationId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateWorkoutFromRequest(UpdateWorkoutRequest request, @MappingTarget Workout existing);
 
     @AfterMapping
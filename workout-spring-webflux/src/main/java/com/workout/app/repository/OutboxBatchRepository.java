@@ -0,0 +1,14 @@
+package com.workout.app.repository;
+
+import com.workout.app.domain.OutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface OutboxBatchRepository {
+
+    /**
+     * Appends all events with a single multi-row INSERT.
+     */
+    Mono<Void> appendAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,43 @@
+package com.workout.app.repository;
+
+import com.workout.app.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class OutboxBatchRepositoryImpl implements OutboxBatchRepository {
+
+    private static final String INSERT_COLUMNS = "INSERT INTO workout_outbox (aggregate_id, event_type, payload) VALUES ";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_COLUMNS);
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:aggregateId").append(i)
+                    .append(", :eventType").append(i)
+                    .append(", :payload").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            spec = spec.bind("aggregateId" + i, event.getAggregateId())
+                    .bind("eventType" + i, event.getEventType())
+                    .bind("payload" + i, event.getPayload());
+        }
+        return spec.then();
+    }
+}
@@ -0,0 +1,17 @@
+package com.workout.app.repository;
+
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+
+/**
+ * Connection pool and template for the read replica. Deliberately not a {@code ConnectionFactory} bean,
+ * which would make Spring Boot back off from creating the primary pool.
+ */
+public record ReplicaDatabase(ConnectionPool pool, R2dbcEntityTemplate template) implements DisposableBean {
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,39 @@
+package com.workout.app.repository;
+
+import com.workout.app.api.dto.UpdateWorkoutRequest;
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutChange;
+import com.workout.app.domain.WorkoutGroupTotals;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface WorkoutBatchRepository {
+
+    /**
+     * Inserts all workouts with a single multi-row INSERT and emits the persisted rows. Workouts whose
+     * correlation id was already claimed by an earlier insert (or repeats within the batch) are skipped
+     * and not emitted.
+     */
+    Flux<Workout> insertAll(List<Workout> workouts);
+
+    /**
+     * Applies the non-null fields of each request to the workout with that id in a single multi-row
+     * UPDATE and emits each updated row with its previous values. Requests with a version only apply
+     * to a workout still at that version; ids without a matching workout are skipped.
+     */
+    Flux<WorkoutChange> updateAll(Map<UUID, UpdateWorkoutRequest> changes);
+
+    /**
+     * Deletes all workouts with the given ids in a single statement and emits the deleted rows.
+     */
+    Flux<Workout> deleteAllReturning(Collection<UUID> ids);
+
+    /**
+     * Counts and sums per type and difficulty, computed by the database in one scan.
+     */
+    Flux<WorkoutGroupTotals> groupTotals();
+}
@@ -0,0 +1,195 @@
+package com.workout.app.repository;
+
+import com.workout.app.api.dto.UpdateWorkoutRequest;
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutChange;
+import com.workout.app.domain.WorkoutGroupTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class WorkoutBatchRepositoryImpl implements WorkoutBatchRepository {
+
+    // Claims each command's correlation id first; only rows whose id was newly claimed (or that have none)
+    // are inserted, so a redelivered or retried command writes nothing. Timestamps default like the columns.
+    private static final String INSERT_FROM_VALUES = """
+            WITH v (name, description, workout_type, duration_minutes, calories_burned, difficulty, created_at, updated_at, correlation_id) AS (
+                SELECT name, description, workout_type, duration_minutes, calories_burned, difficulty,
+                    COALESCE(created_at, CURRENT_TIMESTAMP), COALESCE(updated_at, CURRENT_TIMESTAMP), correlation_id
+                FROM (VALUES %s) AS r (name, description, workout_type, duration_minutes, calories_burned, difficulty, created_at, updated_at, correlation_id)
+            ),
+            claimed AS (
+                INSERT INTO workout_command_ids (correlation_id, created_at)
+                SELECT correlation_id, created_at FROM v WHERE correlation_id IS NOT NULL
+                ON CONFLICT (correlation_id) DO NOTHING
+                RETURNING correlation_id
+            )
+            INSERT INTO workouts (name, description, workout_type, duration_minutes, calories_burned, difficulty, created_at, updated_at, correlation_id)
+            SELECT * FROM v
+            WHERE correlation_id IS NULL OR correlation_id IN (SELECT correlation_id FROM claimed)
+            RETURNING *""";
+
+    // Values are cast explicitly: Postgres infers VALUES column types from the rows and nulls alone carry none.
+    // The previous CTE locks the matching rows and returns their old values alongside the new row, still in
+    // one statement; locking makes it see the latest committed version, as the UPDATE itself would.
+    private static final String UPDATE_FROM_VALUES = """
+            WITH v (id, name, description, workout_type, duration_minutes, calories_burned, difficulty, version) AS (VALUES %s),
+            previous AS (
+                SELECT w.id, w.workout_type, w.difficulty, w.duration_minutes, w.calories_burned
+                FROM workouts w JOIN v ON w.id = v.id
+                WHERE v.version IS NULL OR w.version = v.version
+                FOR UPDATE OF w
+            )
+            UPDATE workouts AS w SET
+                name = COALESCE(v.name, w.name),
+                description = COALESCE(v.description, w.description),
+                workout_type = COALESCE(v.workout_type, w.workout_type),
+                duration_minutes = COALESCE(v.duration_minutes, w.duration_minutes),
+                calories_burned = COALESCE(v.calories_burned, w.calories_burned),
+                difficulty = COALESCE(v.difficulty, w.difficulty),
+                version = w.version + 1
+            FROM v JOIN previous p ON p.id = v.id
+            WHERE w.id = v.id
+            RETURNING w.*, p.workout_type AS previous_workout_type, p.difficulty AS previous_difficulty,
+                p.duration_minutes AS previous_duration_minutes, p.calories_burned AS previous_calories_burned""";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    @Override
+    public Flux<Workout> insertAll(List<Workout> batch) {
+        // A correlation id repeated within the batch would be claimed once but inserted twice.
+        Set<UUID> correlationIds = new HashSet<>();
+        List<Workout> workouts = batch.stream()
+                .filter(w -> w.getCorrelationId() == null || correlationIds.add(w.getCorrelationId()))
+                .toList();
+        if (workouts.isEmpty()) {
+            return Flux.empty();
+        }
+
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < workouts.size(); i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append("(CAST(:name").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:description").append(i).append(" AS TEXT)")
+                    .append(", CAST(:workoutType").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:durationMinutes").append(i).append(" AS INT)")
+                    .append(", CAST(:caloriesBurned").append(i).append(" AS INT)")
+                    .append(", CAST(:difficulty").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:createdAt").append(i).append(" AS TIMESTAMPTZ)")
+                    .append(", CAST(:updatedAt").append(i).append(" AS TIMESTAMPTZ)")
+                    .append(", CAST(:correlationId").append(i).append(" AS UUID)")
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_FROM_VALUES.formatted(values));
+        for (int i = 0; i < workouts.size(); i++) {
+            Workout w = workouts.get(i);
+            spec = bind(spec, "name" + i, w.getName(), String.class);
+            spec = bind(spec, "description" + i, w.getDescription(), String.class);
+            spec = bind(spec, "workoutType" + i, w.getWorkoutType(), String.class);
+            spec = spec.bind("durationMinutes" + i, w.getDurationMinutes());
+            spec = bind(spec, "caloriesBurned" + i, w.getCaloriesBurned(), Integer.class);
+            spec = bind(spec, "difficulty" + i, w.getDifficulty(), String.class);
+            spec = bind(spec, "createdAt" + i, w.getCreatedAt(), Instant.class);
+            spec = bind(spec, "updatedAt" + i, w.getUpdatedAt(), Instant.class);
+            spec = bind(spec, "correlationId" + i, w.getCorrelationId(), UUID.class);
+        }
+
+        return spec.map((row, metadata) -> converter.read(Workout.class, row, metadata)).all();
+    }
+
+    @Override
+    public Flux<WorkoutChange> updateAll(Map<UUID, UpdateWorkoutRequest> changes) {
+        if (changes.isEmpty()) {
+            return Flux.empty();
+        }
+
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < changes.size(); i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append("(CAST(:id").append(i).append(" AS UUID)")
+                    .append(", CAST(:name").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:description").append(i).append(" AS TEXT)")
+                    .append(", CAST(:workoutType").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:durationMinutes").append(i).append(" AS INT)")
+                    .append(", CAST(:caloriesBurned").append(i).append(" AS INT)")
+                    .append(", CAST(:difficulty").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:version").append(i).append(" AS BIGINT)")
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPDATE_FROM_VALUES.formatted(values));
+        int i = 0;
+        for (Map.Entry<UUID, UpdateWorkoutRequest> entry : changes.entrySet()) {
+            UpdateWorkoutRequest r = entry.getValue();
+            spec = spec.bind("id" + i, entry.getKey());
+            spec = bind(spec, "name" + i, r.name(), String.class);
+            spec = bind(spec, "description" + i, r.description(), String.class);
+            spec = bind(spec, "workoutType" + i, r.workoutType() != null ? r.workoutType().name() : null, String.class);
+            spec = bind(spec, "durationMinutes" + i, r.durationMinutes(), Integer.class);
+            spec = bind(spec, "caloriesBurned" + i, r.caloriesBurned(), Integer.class);
+            spec = bind(spec, "difficulty" + i, r.difficulty() != null ? r.difficulty().name() : null, String.class);
+            spec = bind(spec, "version" + i, r.version(), Long.class);
+            i++;
+        }
+
+        return spec.map((row, metadata) -> {
+            Workout current = converter.read(Workout.class, row, metadata);
+            Workout previous = Workout.builder()
+                    .id(current.getId())
+                    .workoutType(row.get("previous_workout_type", String.class))
+                    .difficulty(row.get("previous_difficulty", String.class))
+                    .durationMinutes(row.get("previous_duration_minutes", Integer.class))
+                    .caloriesBurned(row.get("previous_calories_burned", Integer.class))
+                    .build();
+            return new WorkoutChange(previous, current);
+        }).all();
+    }
+
+    @Override
+    public Flux<Workout> deleteAllReturning(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("DELETE FROM workouts WHERE id = ANY(:ids) RETURNING *")
+                .bind("ids", ids.toArray(new UUID[0]))
+                .map((row, metadata) -> converter.read(Workout.class, row, metadata))
+                .all();
+    }
+
+    @Override
+    public Flux<WorkoutGroupTotals> groupTotals() {
+        return databaseClient.sql("""
+                        SELECT workout_type, difficulty, COUNT(*) AS count,
+                            COALESCE(SUM(duration_minutes), 0) AS duration_minutes, COALESCE(SUM(calories_burned), 0) AS calories_burned
+                        FROM workouts
+                        GROUP BY workout_type, difficulty""")
+                .map(row -> new WorkoutGroupTotals(
+                        row.get("workout_type", String.class),
+                        row.get("difficulty", String.class),
+                        row.get("count", Long.class),
+                        row.get("duration_minutes", Long.class),
+                        row.get("calories_burned", Long.class)))
+                .all();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+            Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+}
@@ -0,0 +1,29 @@
+package com.workout.app.repository;
+
+import com.workout.app.domain.OutboxEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface WorkoutOutboxRepository extends ReactiveCrudRepository<OutboxEvent, Long>, OutboxBatchRepository {
+
+    /**
+     * Makes the calling transaction the only relay until it ends; false if another instance is relaying.
+     * A single relay publishing in id order keeps each workout's events in the order they were written.
+     */
+    @Query("SELECT pg_try_advisory_xact_lock(hashtext('workout_outbox_relay'))")
+    Mono<Boolean> tryLockRelay();
+
+    @Query("SELECT * FROM workout_outbox ORDER BY id LIMIT :limit")
+    Flux<OutboxEvent> findPending(int limit);
+
+    @Modifying
+    @Query("DELETE FROM workout_outbox WHERE id IN (:ids)")
+    Mono<Integer> deleteByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,149 @@
+package com.workout.app.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workout.app.domain.Workout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+/**
+ * Read queries of the API, served by the read replica when {@code workout.replica.enabled} is set and by
+ * the primary otherwise. Writes always go through {@link WorkoutRepository}.
+ * <p>
+ * If the replica cannot be reached, a read falls back to the primary and the replica is skipped for
+ * {@code retry-interval}. Lookups of a workout written by this instance within {@code max-lag} also go
+ * to the primary, so a client reads its own writes and the id cache is not refilled with a stale row.
+ * Fallbacks are counted in {@code workout.replica.fallbacks}.
+ */
+@Slf4j
+@Repository
+public class WorkoutReadRepository {
+
+    public static final String FALLBACKS = "workout.replica.fallbacks";
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final WorkoutRepository primary;
+    private final R2dbcEntityTemplate replica;
+    private final Cache<UUID, Boolean> recentlyWritten;
+    private final Counter fallbacks;
+    private final Duration retryInterval;
+    private volatile long replicaDownUntilNanos;
+
+    public WorkoutReadRepository(WorkoutRepository primary, Optional<ReplicaDatabase> replica, MeterRegistry meterRegistry,
+            @Value("${workout.replica.max-lag:5s}") Duration maxLag,
+            @Value("${workout.replica.retry-interval:30s}") Duration retryInterval) {
+        this.primary = primary;
+        this.replica = replica.map(ReplicaDatabase::template).orElse(null);
+        this.recentlyWritten = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(maxLag)
+                .build();
+        this.fallbacks = Counter.builder(FALLBACKS)
+                .description("Reads sent to the primary because the replica was unavailable")
+                .register(meterRegistry);
+        this.retryInterval = retryInterval;
+        this.replicaDownUntilNanos = System.nanoTime();
+    }
+
+    /**
+     * Records a committed write, so lookups of this workout stay on the primary until the replica has caught up.
+     */
+    public void written(UUID id) {
+        if (replica != null) {
+            recentlyWritten.put(id, Boolean.TRUE);
+        }
+    }
+
+    public Mono<Workout> findById(UUID id) {
+        if (recentlyWritten.getIfPresent(id) != null) {
+            return primary.findById(id);
+        }
+        return readOne(() -> replica.selectOne(Query.query(where("id").is(id)), Workout.class),
+                () -> primary.findById(id));
+    }
+
+    public Flux<Workout> findAllPaged(int limit, int offset) {
+        return readMany(() -> replica.select(Query.empty().sort(NEWEST_FIRST).limit(limit).offset(offset), Workout.class),
+                () -> primary.findAllPaged(limit, offset));
+    }
+
+    public Flux<Workout> findFirstPage(int limit) {
+        return readMany(() -> replica.select(Query.empty().sort(NEWEST_FIRST).limit(limit), Workout.class),
+                () -> primary.findFirstPage(limit));
+    }
+
+    public Flux<Workout> findPageAfter(Instant createdAt, UUID id, int limit) {
+        // (created_at, id) < (:createdAt, :id), with the created_at bound spelled out so it stays an index range.
+        Criteria after = where("createdAt").lessThanOrEquals(createdAt)
+                .and(where("createdAt").lessThan(createdAt).or("id").lessThan(id));
+        return readMany(() -> replica.select(Query.query(after).sort(NEWEST_FIRST).limit(limit), Workout.class),
+                () -> primary.findPageAfter(createdAt, id, limit));
+    }
+
+    public Flux<Workout> findByType(String type) {
+        return readMany(() -> replica.select(Query.query(where("workoutType").is(type)).sort(Sort.by(Sort.Order.desc("createdAt"))), Workout.class),
+                () -> primary.findByType(type));
+    }
+
+    public Flux<Workout> findByDifficulty(String difficulty) {
+        return readMany(() -> replica.select(Query.query(where("difficulty").is(difficulty)).sort(Sort.by(Sort.Order.desc("createdAt"))), Workout.class),
+                () -> primary.findByDifficulty(difficulty));
+    }
+
+    private <T> Mono<T> readOne(Supplier<Mono<T>> fromReplica, Supplier<Mono<T>> fromPrimary) {
+        if (!replicaAvailable()) {
+            return fromPrimary.get();
+        }
+        return Mono.defer(fromReplica)
+                .onErrorResume(WorkoutReadRepository::isUnavailable, e -> fallBack(e, fromPrimary.get()));
+    }
+
+    private <T> Flux<T> readMany(Supplier<Flux<T>> fromReplica, Supplier<Flux<T>> fromPrimary) {
+        if (!replicaAvailable()) {
+            return fromPrimary.get();
+        }
+        return Flux.defer(() -> {
+            // Only fall back before the first row, so a result never mixes rows from both databases.
+            AtomicBoolean emitted = new AtomicBoolean();
+            return fromReplica.get()
+                    .doOnNext(row -> emitted.set(true))
+                    .onErrorResume(e -> !emitted.get() && isUnavailable(e), e -> fallBack(e, fromPrimary.get()));
+        });
+    }
+
+    private <P> P fallBack(Throwable e, P fromPrimary) {
+        replicaDownUntilNanos = System.nanoTime() + retryInterval.toNanos();
+        fallbacks.increment();
+        log.warn("Read replica unavailable, reading from the primary for the next {}: {}", retryInterval, e.toString());
+        return fromPrimary;
+    }
+
+    private boolean replicaAvailable() {
+        return replica != null && System.nanoTime() - replicaDownUntilNanos >= 0;
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException;
+    }
+}
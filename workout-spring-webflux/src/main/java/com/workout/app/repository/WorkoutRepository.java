@@ -5,15 +5,62 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
-public interface WorkoutRepository extends ReactiveCrudRepository<Workout, UUID> {
+public interface WorkoutRepository extends ReactiveCrudRepository<Workout, UUID>, WorkoutBatchRepository, WorkoutSearchRepository {
     
-    @Query("SELECT * FROM workouts ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
+    @Query("SELECT * FROM workouts ORDER BY created_at DESC, id DESC LIMIT :limit OFFSET :offset")
     Flux<Workout> findAllPaged(int limit, int offset);
 
+    @Query("SELECT * FROM workouts ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Workout> findFirstPage(int limit);
+
+    // The separate created_at bound lets the planner prune partitions newer than the cursor.
+    @Query("SELECT * FROM workouts WHERE created_at <= :createdAt AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<Workout> findPageAfter(Instant createdAt, UUID id, int limit);
+
+    /**
+     * Looks up the command's created_at first, so only the partition holding the row is searched.
+     */
+    @Query("""
+            SELECT * FROM workouts
+            WHERE correlation_id = :correlationId
+              AND created_at = (SELECT created_at FROM workout_command_ids WHERE correlation_id = :correlationId)
+            LIMIT 1""")
+    Mono<Workout> findByCorrelationId(UUID correlationId);
+
+    /**
+     * Deletes the workout, only if it is still at {@code version} when that is set, and emits the deleted row.
+     */
+    @Query("DELETE FROM workouts WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version) RETURNING *")
+    Mono<Workout> deleteReturning(UUID id, Long version);
+
+    @Query("SELECT id FROM workouts WHERE id IN (:ids)")
+    Flux<UUID> findExistingIds(Collection<UUID> ids);
+
+    /**
+     * Creates the monthly partitions up to {@code monthsAhead} months after the current one and emits the new ones.
+     */
+    @Query("SELECT workouts_create_partitions(:monthsAhead)")
+    Flux<String> createPartitions(int monthsAhead);
+
+    /**
+     * Detaches partitions older than {@code retentionMonths} into the workout_archive schema and emits them.
+     */
+    @Query("SELECT workouts_archive_partitions(:retentionMonths)")
+    Flux<String> archivePartitions(int retentionMonths);
+
+    /**
+     * Exclusive upper bound of the newest partition: rows created at or after it have no partition to go to.
+     */
+    @Query("SELECT max(upper_bound) FROM workouts_partitions()")
+    Mono<Instant> partitionedUntil();
+
     @Query("SELECT * FROM workouts WHERE workout_type = :type ORDER BY created_at DESC")
     Flux<Workout> findByType(String type);
 
@@ -0,0 +1,24 @@
+package com.workout.app.repository;
+
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface WorkoutSearchRepository {
+
+    /**
+     * Page of matching workouts, newest first, after skipping {@code offset} rows.
+     */
+    Flux<Workout> search(WorkoutFilter filter, int limit, int offset);
+
+    /**
+     * Keyset page of matching workouts, newest first, strictly after {@code (createdAt, id)}.
+     */
+    Flux<Workout> searchAfter(WorkoutFilter filter, Instant createdAt, UUID id, int limit);
+
+    Mono<Long> count(WorkoutFilter filter);
+}
@@ -0,0 +1,71 @@
+package com.workout.app.repository;
+
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+/**
+ * Builds the WHERE clause from the non-null filter fields only, so every combination gets a plan
+ * that can use the matching (type, difficulty, created_at) index.
+ */
+@RequiredArgsConstructor
+class WorkoutSearchRepositoryImpl implements WorkoutSearchRepository {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<Workout> search(WorkoutFilter filter, int limit, int offset) {
+        Query query = Query.query(criteria(filter)).sort(NEWEST_FIRST).limit(limit).offset(offset);
+        return template.select(query, Workout.class);
+    }
+
+    @Override
+    public Flux<Workout> searchAfter(WorkoutFilter filter, Instant createdAt, UUID id, int limit) {
+        // (created_at, id) < (:createdAt, :id), with the created_at bound spelled out so it stays an index range.
+        Criteria after = where("createdAt").lessThanOrEquals(createdAt)
+                .and(where("createdAt").lessThan(createdAt).or("id").lessThan(id));
+        Query query = Query.query(criteria(filter).and(after)).sort(NEWEST_FIRST).limit(limit);
+        return template.select(query, Workout.class);
+    }
+
+    @Override
+    public Mono<Long> count(WorkoutFilter filter) {
+        return template.count(Query.query(criteria(filter)), Workout.class);
+    }
+
+    private static Criteria criteria(WorkoutFilter filter) {
+        Criteria criteria = Criteria.empty();
+        if (filter.workoutType() != null) {
+            criteria = criteria.and("workoutType").is(filter.workoutType());
+        }
+        if (filter.difficulty() != null) {
+            criteria = criteria.and("difficulty").is(filter.difficulty());
+        }
+        if (filter.minDurationMinutes() != null) {
+            criteria = criteria.and("durationMinutes").greaterThanOrEquals(filter.minDurationMinutes());
+        }
+        if (filter.maxDurationMinutes() != null) {
+            criteria = criteria.and("durationMinutes").lessThanOrEquals(filter.maxDurationMinutes());
+        }
+        if (filter.minCaloriesBurned() != null) {
+            criteria = criteria.and("caloriesBurned").greaterThanOrEquals(filter.minCaloriesBurned());
+        }
+        if (filter.maxCaloriesBurned() != null) {
+            criteria = criteria.and("caloriesBurned").lessThanOrEquals(filter.maxCaloriesBurned());
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,128 @@
+package com.workout.app.service;
+
+import com.workout.app.kafka.ConsumerLagMonitor;
+import com.workout.app.kafka.WorkoutCommandProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decides whether a new async create is accepted, based on two signals of a saturated write path:
+ * commands still waiting for a broker acknowledgement on this instance ({@code max-in-flight}), and
+ * the consumer group's lag last measured by {@link ConsumerLagMonitor} ({@code max-consumer-lag}). A
+ * threshold of 0 disables that check. Shedding only rejects creates; the instance stays ready for reads
+ * and other writes, so the health component stays UP and reports whether creates are being shed.
+ */
+@Component
+public class AdmissionControl implements HealthIndicator {
+
+    public static final String REJECTED = "workout.admission.rejected";
+    public static final String SATURATED = "workout.admission.saturated";
+    public static final String PRODUCER_IN_FLIGHT = "workout.command.producer.in.flight";
+
+    public enum Reason {
+        /** The producer has too many unacknowledged sends; clears within milliseconds to seconds. */
+        PRODUCER_SATURATED,
+        /** The consumer is too far behind; new commands would not be visible for a long time. */
+        CONSUMER_LAGGING
+    }
+
+    private final WorkoutCommandProducer producer;
+    private final ConsumerLagMonitor lagMonitor;
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final long maxConsumerLag;
+    private final Duration inFlightRetryAfter;
+    private final Duration lagRetryAfter;
+    private final Map<Reason, Counter> rejected = new EnumMap<>(Reason.class);
+
+    public AdmissionControl(WorkoutCommandProducer producer, ConsumerLagMonitor lagMonitor, MeterRegistry meterRegistry,
+            @Value("${workout.admission.enabled:true}") boolean enabled,
+            @Value("${workout.admission.max-in-flight:5000}") int maxInFlight,
+            @Value("${workout.admission.max-consumer-lag:100000}") long maxConsumerLag,
+            @Value("${workout.admission.in-flight-retry-after:1s}") Duration inFlightRetryAfter,
+            @Value("${workout.admission.lag-retry-after:30s}") Duration lagRetryAfter) {
+        this.producer = producer;
+        this.lagMonitor = lagMonitor;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.maxConsumerLag = maxConsumerLag;
+        this.inFlightRetryAfter = inFlightRetryAfter;
+        this.lagRetryAfter = lagRetryAfter;
+
+        Gauge.builder(PRODUCER_IN_FLIGHT, producer, WorkoutCommandProducer::inFlight)
+                .description("Create commands waiting for a broker acknowledgement")
+                .register(meterRegistry);
+        for (Reason reason : Reason.values()) {
+            rejected.put(reason, Counter.builder(REJECTED)
+                    .description("Async creates rejected by admission control")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry));
+            Gauge.builder(SATURATED, this, control -> control.saturated(reason) ? 1 : 0)
+                    .description("1 while admission control rejects creates for this reason")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Completes empty if a create may proceed, otherwise fails with {@link AdmissionRejectedException}.
+     */
+    public Mono<Void> admit() {
+        return Mono.defer(() -> {
+            Reason reason = rejectionReason();
+            if (reason == null) {
+                return Mono.empty();
+            }
+            rejected.get(reason).increment();
+            return Mono.error(reason == Reason.PRODUCER_SATURATED
+                    ? new AdmissionRejectedException(reason, inFlightRetryAfter,
+                            "Too many create commands in flight, retry later")
+                    : new AdmissionRejectedException(reason, lagRetryAfter,
+                            "Create commands are backlogged, retry later"));
+        });
+    }
+
+    @Override
+    public Health health() {
+        Reason reason = rejectionReason();
+        return Health.up()
+                .withDetail("shedding", reason != null)
+                .withDetail("reason", reason != null ? reason.name() : "NONE")
+                .withDetail("inFlight", producer.inFlight())
+                .withDetail("maxInFlight", maxInFlight)
+                .withDetail("consumerLag", lagMonitor.totalLag())
+                .withDetail("maxConsumerLag", maxConsumerLag)
+                .build();
+    }
+
+    private Reason rejectionReason() {
+        // Lag takes precedence: it lasts longer, so its Retry-After is the more useful hint.
+        if (saturated(Reason.CONSUMER_LAGGING)) {
+            return Reason.CONSUMER_LAGGING;
+        }
+        if (saturated(Reason.PRODUCER_SATURATED)) {
+            return Reason.PRODUCER_SATURATED;
+        }
+        return null;
+    }
+
+    private boolean saturated(Reason reason) {
+        if (!enabled) {
+            return false;
+        }
+        return switch (reason) {
+            case PRODUCER_SATURATED -> maxInFlight > 0 && producer.inFlight() >= maxInFlight;
+            case CONSUMER_LAGGING -> maxConsumerLag > 0 && lagMonitor.totalLag() >= maxConsumerLag;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.workout.app.service;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when {@link AdmissionControl} sheds a create because the async write path is saturated.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final AdmissionControl.Reason reason;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(AdmissionControl.Reason reason, Duration retryAfter, String message) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+}
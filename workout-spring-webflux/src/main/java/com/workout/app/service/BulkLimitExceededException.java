@@ -0,0 +1,11 @@
+package com.workout.app.service;
+
+/**
+ * Thrown when a bulk request body holds more than {@code workout.bulk.max-items} items.
+ */
+public class BulkLimitExceededException extends RuntimeException {
+
+    public BulkLimitExceededException(int maxItems) {
+        super("Bulk requests are limited to " + maxItems + " items");
+    }
+}
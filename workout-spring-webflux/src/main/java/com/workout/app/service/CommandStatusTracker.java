@@ -0,0 +1,62 @@
+package com.workout.app.service;
+
+import com.workout.app.domain.Workout;
+import com.workout.app.repository.WorkoutRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves create commands to the workout they produced. Waiters are woken by completion signals,
+ * looked up by correlation id: from this instance's consumer when it persists the command, and from
+ * {@link com.workout.app.kafka.WorkoutEventListener} when another instance did. The database is checked
+ * before waiting and again at the deadline, which covers a create whose event is still in the outbox.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommandStatusTracker {
+
+    private final WorkoutRepository repository;
+    /** One sink per awaited correlation id, shared by all of its waiters. */
+    private final Map<UUID, Sinks.One<Workout>> waiters = new ConcurrentHashMap<>();
+
+    public void completed(Workout workout) {
+        if (workout.getCorrelationId() != null) {
+            Sinks.One<Workout> waiting = waiters.remove(workout.getCorrelationId());
+            if (waiting != null) {
+                waiting.tryEmitValue(workout);
+            }
+        }
+    }
+
+    public Mono<Workout> find(UUID correlationId) {
+        return repository.findByCorrelationId(correlationId);
+    }
+
+    /**
+     * Emits the workout once the command has been persisted, or completes empty after {@code timeout}.
+     */
+    public Mono<Workout> await(UUID correlationId, Duration timeout) {
+        if (timeout.isZero() || timeout.isNegative()) {
+            return find(correlationId);
+        }
+        // Register for the completion before querying so a completion between the two is not missed.
+        Mono<Workout> completion = Mono.defer(() -> waiters.computeIfAbsent(correlationId, id -> Sinks.one()).asMono()
+                .doFinally(signal -> release(correlationId)));
+        return Mono.firstWithValue(completion, find(correlationId))
+                .timeout(timeout, find(correlationId));
+    }
+
+    /**
+     * Drops the sink once its last waiter has timed out or cancelled.
+     */
+    private void release(UUID correlationId) {
+        waiters.computeIfPresent(correlationId, (id, sink) -> sink.currentSubscriberCount() == 0 ? null : sink);
+    }
+}
@@ -0,0 +1,11 @@
+package com.workout.app.service;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is sent again with a different request body.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency-Key " + idempotencyKey + " was already used with a different request");
+    }
+}
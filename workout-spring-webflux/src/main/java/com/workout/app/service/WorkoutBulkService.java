@@ -0,0 +1,184 @@
+package com.workout.app.service;
+
+import com.workout.app.api.dto.BulkItemResult;
+import com.workout.app.api.dto.BulkUpdateRequest;
+import com.workout.app.api.dto.CreateWorkoutRequest;
+import com.workout.app.api.dto.UpdateWorkoutRequest;
+import com.workout.app.domain.Workout;
+import com.workout.app.kafka.WorkoutCommand;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Processes bulk requests chunk by chunk once the whole body has been read and counted, so an oversized
+ * or malformed body writes nothing; at most {@code max-items} decoded items are held in memory.
+ * Each item is validated on its own; the valid items of a chunk are written with one multi-row
+ * statement, or for async creates published back to back through the shared command stream so they
+ * leave in the same producer batches. Every item gets its own result, in request order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkoutBulkService {
+
+    private final WorkoutService workoutService;
+    private final Validator validator;
+
+    @Value("${workout.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${workout.bulk.max-items:10000}")
+    private int maxItems;
+
+    public Flux<BulkItemResult> createAsync(Flux<CreateWorkoutRequest> requests) {
+        return process(requests, this::validateCreate, request -> null, accepted ->
+                Flux.fromIterable(accepted)
+                        .flatMapSequential(item -> workoutService.createAsync(item.value())
+                                .map(correlationId -> BulkItemResult.accepted(item.index(), correlationId))
+                                .onErrorResume(e -> Mono.just(BulkItemResult.failed(item.index(), null, e.getMessage()))),
+                                accepted.size()));
+    }
+
+    public Flux<BulkItemResult> create(Flux<CreateWorkoutRequest> requests) {
+        return process(requests, this::validateCreate, request -> null, accepted -> {
+            List<WorkoutCommand> commands = accepted.stream()
+                    .map(item -> WorkoutCommand.create(UUID.randomUUID(), item.value()))
+                    .toList();
+            return workoutService.createAll(commands)
+                    .collectMap(Workout::getCorrelationId)
+                    .flatMapIterable(saved -> {
+                        List<BulkItemResult> results = new ArrayList<>(accepted.size());
+                        for (int i = 0; i < accepted.size(); i++) {
+                            results.add(BulkItemResult.created(accepted.get(i).index(), saved.get(commands.get(i).correlationId())));
+                        }
+                        return results;
+                    });
+        });
+    }
+
+    public Flux<BulkItemResult> update(Flux<BulkUpdateRequest> requests) {
+        return process(requests, this::validateUpdate, BulkUpdateRequest::id, accepted -> {
+            Map<UUID, UpdateWorkoutRequest> changes = new LinkedHashMap<>();
+            Map<UUID, Integer> indexes = new LinkedHashMap<>();
+            List<BulkItemResult> duplicates = new ArrayList<>();
+            for (Item<BulkUpdateRequest> item : accepted) {
+                UUID id = item.value().id();
+                if (changes.putIfAbsent(id, item.value().changes()) == null) {
+                    indexes.put(id, item.index());
+                } else {
+                    duplicates.add(BulkItemResult.invalid(item.index(), id, "Duplicate id in request"));
+                }
+            }
+            return workoutService.updateAll(changes)
+                    .map(Workout::getId)
+                    .collect(Collectors.toSet())
+                    .flatMapMany(updated -> {
+                        // Rows that were not updated either do not exist or are at another version.
+                        List<UUID> missed = indexes.keySet().stream().filter(id -> !updated.contains(id)).toList();
+                        return workoutService.findExistingIds(missed)
+                                .collect(Collectors.toSet())
+                                .flatMapIterable(existing -> indexes.entrySet().stream()
+                                        .map(entry -> updated.contains(entry.getKey())
+                                                ? BulkItemResult.updated(entry.getValue(), entry.getKey())
+                                                : existing.contains(entry.getKey())
+                                                        ? BulkItemResult.conflict(entry.getValue(), entry.getKey())
+                                                        : BulkItemResult.notFound(entry.getValue(), entry.getKey()))
+                                        .toList());
+                    })
+                    .concatWith(Flux.fromIterable(duplicates));
+        });
+    }
+
+    public Flux<BulkItemResult> delete(Flux<UUID> ids) {
+        return process(ids, id -> id == null ? "id is required" : null, id -> id, accepted ->
+                workoutService.deleteAll(accepted.stream().map(Item::value).collect(Collectors.toSet()))
+                        .collect(Collectors.toSet())
+                        .flatMapIterable(deleted -> accepted.stream()
+                                .map(item -> deleted.contains(item.value())
+                                        ? BulkItemResult.deleted(item.index(), item.value())
+                                        : BulkItemResult.notFound(item.index(), item.value()))
+                                .toList()));
+    }
+
+    /**
+     * Splits the items into chunks, rejects invalid items and hands the rest of each chunk to
+     * {@code write}. A failed write fails the items of its chunk only; later chunks still run.
+     * Nothing is written until the body has been read: reading stops at the first item past
+     * {@code maxItems}, which fails the whole request with {@link BulkLimitExceededException}, and a body
+     * that fails to decode fails it as well.
+     */
+    private <T> Flux<BulkItemResult> process(Flux<T> items, Function<T, String> validate, Function<T, UUID> idOf,
+            Function<List<Item<T>>, Flux<BulkItemResult>> write) {
+        return items.take(maxItems + 1L)
+                .collectList()
+                .flatMapMany(all -> all.size() > maxItems
+                        ? Flux.error(new BulkLimitExceededException(maxItems))
+                        : Flux.fromIterable(all))
+                .index()
+                .map(indexed -> new Item<>(indexed.getT1().intValue(), indexed.getT2()))
+                .buffer(chunkSize)
+                .concatMap(chunk -> {
+                    List<BulkItemResult> rejected = new ArrayList<>();
+                    List<Item<T>> accepted = new ArrayList<>(chunk.size());
+                    for (Item<T> item : chunk) {
+                        String problem = validate.apply(item.value());
+                        if (problem != null) {
+                            rejected.add(BulkItemResult.invalid(item.index(), item.value() != null ? idOf.apply(item.value()) : null, problem));
+                        } else {
+                            accepted.add(item);
+                        }
+                    }
+
+                    Flux<BulkItemResult> written = accepted.isEmpty() ? Flux.empty() : write.apply(accepted)
+                            .onErrorResume(e -> {
+                                log.error("Bulk write of {} items failed", accepted.size(), e);
+                                return Flux.fromIterable(accepted)
+                                        .map(item -> BulkItemResult.failed(item.index(), idOf.apply(item.value()), e.getMessage()));
+                            });
+                    return Flux.concat(Flux.fromIterable(rejected), written)
+                            .sort(Comparator.comparingInt(BulkItemResult::index));
+                });
+    }
+
+    private String validateCreate(CreateWorkoutRequest request) {
+        return request == null ? "workout is required" : describe(validator.validate(request));
+    }
+
+    private String validateUpdate(BulkUpdateRequest request) {
+        if (request == null || request.id() == null) {
+            return "id is required";
+        }
+        if (request.changes() == null) {
+            return "changes are required";
+        }
+        return describe(validator.validate(request.changes()));
+    }
+
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Item<T>(int index, T value) {}
+}
@@ -0,0 +1,97 @@
+package com.workout.app.service;
+
+import com.workout.app.repository.WorkoutRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps the monthly partitions of {@code workouts} ahead of the clock and archives old ones. Every
+ * {@code maintenance-interval} it creates partitions through {@code months-ahead} months after the
+ * current one and, with {@code retention-months} above 0, detaches partitions that ended that many
+ * months before the current one. Both steps are serialised in the database, so all instances may run them.
+ * <p>
+ * There is no default partition, so a create with no partition for its month would fail. The first run
+ * happens at startup, and startup fails unless the partitions cover at least the next month.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkoutPartitionMaintenance {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+
+    private final WorkoutRepository repository;
+
+    @Value("${workout.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${workout.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${workout.partitions.maintenance-interval:1h}")
+    private Duration maintenanceInterval;
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting partition maintenance (monthsAhead={}, retentionMonths={}, interval={})...",
+                monthsAhead, retentionMonths, maintenanceInterval);
+        if (monthsAhead < 1) {
+            throw new IllegalStateException("workout.partitions.months-ahead must be at least 1, was " + monthsAhead);
+        }
+
+        maintain()
+                .then(checkCoverage())
+                .doOnNext(covered -> {
+                    if (!covered) {
+                        throw new IllegalStateException("workouts partitions do not cover the next month");
+                    }
+                })
+                .block(STARTUP_TIMEOUT);
+
+        Flux.interval(maintenanceInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> maintain()
+                        .then(checkCoverage())
+                        .doOnNext(covered -> {
+                            if (!covered) {
+                                log.error("workouts partitions do not cover the next month; creates will fail once it starts");
+                            }
+                        })
+                        .onErrorResume(e -> {
+                            log.error("Error maintaining workout partitions, retrying on next interval", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * True if the partitions reach at least the end of the next month.
+     */
+    private Mono<Boolean> checkCoverage() {
+        Instant required = YearMonth.now(ZoneOffset.UTC).plusMonths(2).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return repository.partitionedUntil()
+                .map(until -> !until.isBefore(required))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> maintain() {
+        Flux<String> archived = retentionMonths > 0
+                ? repository.archivePartitions(retentionMonths)
+                        .doOnNext(partition -> log.info("Archived workout partition {} to workout_archive", partition))
+                : Flux.empty();
+        return repository.createPartitions(monthsAhead)
+                .doOnNext(partition -> log.info("Created workout partition {}", partition))
+                .thenMany(archived)
+                .then();
+    }
+}
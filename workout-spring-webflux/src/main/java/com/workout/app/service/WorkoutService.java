@@ -2,16 +2,34 @@ package com.workout.app.service;
 
 import com.workout.app.api.dto.CreateWorkoutRequest;
 import com.workout.app.api.dto.UpdateWorkoutRequest;
+import com.workout.app.api.dto.WorkoutCursor;
+import com.workout.app.cache.IdempotencyCache;
+import com.workout.app.cache.WorkoutCache;
+import com.workout.app.cache.WorkoutCountCache;
 import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutChange;
+import com.workout.app.domain.WorkoutFilter;
+import com.workout.app.domain.WorkoutStats;
+import com.workout.app.kafka.WorkoutCommand;
+import com.workout.app.kafka.WorkoutCommandMetrics;
 import com.workout.app.kafka.WorkoutCommandProducer;
+import com.workout.app.kafka.WorkoutEvent;
+import com.workout.app.kafka.WorkoutEventOutbox;
 import com.workout.app.mapper.WorkoutMapper;
+import com.workout.app.repository.WorkoutReadRepository;
 import com.workout.app.repository.WorkoutRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -22,45 +40,221 @@ public class WorkoutService {
     private final WorkoutRepository repository;
     private final WorkoutCommandProducer producer;
     private final WorkoutMapper workoutMapper;
+    private final WorkoutCache workoutCache;
+    private final WorkoutEventOutbox eventOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final CommandStatusTracker commandStatusTracker;
+    private final WorkoutCommandMetrics commandMetrics;
+    private final WorkoutCountCache countCache;
+    private final WorkoutStatistics statistics;
+    private final IdempotencyCache idempotencyCache;
+    private final WorkoutReadRepository readRepository;
 
     public Mono<UUID> createAsync(CreateWorkoutRequest request) {
         return producer.publishCreateCommand(request);
     }
 
-    public Mono<Workout> create(CreateWorkoutRequest request) {
-        Workout workout = workoutMapper.toWorkout(request);
-        return repository.save(workout)
-                .doOnSuccess(w -> log.info("Saved workout to database with id: {}", w.getId()));
+    /**
+     * Publishes a create command, once per {@code idempotencyKey} within the idempotency window: a retry
+     * gets the original correlation id without publishing again, and fails with
+     * {@link IdempotencyKeyReusedException} if its request differs from the original.
+     */
+    public Mono<UUID> createAsync(CreateWorkoutRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createAsync(request);
+        }
+        return idempotencyCache.get(idempotencyKey, request, () -> producer.publishCreateCommand(request, idempotencyKey))
+                .flatMap(accepted -> accepted.request().equals(request)
+                        ? Mono.just(accepted.correlationId())
+                        : Mono.error(new IdempotencyKeyReusedException(idempotencyKey)));
+    }
+
+    /**
+     * Persists the command's workout; empty if a workout with its correlation id already exists (a
+     * redelivered or retried command).
+     */
+    public Mono<Workout> create(WorkoutCommand command) {
+        Workout workout = toWorkout(command);
+        return commandMetrics.timeSave("save", Flux.defer(() -> repository.insertAll(List.of(workout))).singleOrEmpty())
+                .flatMap(saved -> eventOutbox.append(WorkoutEvent.created(saved)).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(saved -> {
+                    if (saved != null) {
+                        afterCreate(saved);
+                        log.info("Saved workout to database with id: {}", saved.getId());
+                    } else {
+                        log.info("Skipped duplicate create command for correlationId: {}", command.correlationId());
+                    }
+                });
+    }
+
+    /**
+     * Persists the workouts of all commands in one INSERT and emits those that were new; commands whose
+     * correlation id is already persisted are skipped.
+     */
+    public Flux<Workout> createAll(List<WorkoutCommand> commands) {
+        return commandMetrics.timeSave("insertAll", Flux.defer(() -> repository.insertAll(commands.stream().map(this::toWorkout).toList())))
+                .collectList()
+                .flatMap(saved -> eventOutbox.append(saved.stream().map(WorkoutEvent::created).toList()).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .flatMapIterable(saved -> saved)
+                .doOnNext(this::afterCreate)
+                .doOnComplete(() -> log.info("Saved batch of {} workouts to database", commands.size()));
+    }
+
+    public Mono<Workout> findByCorrelationId(UUID correlationId, Duration wait) {
+        return commandStatusTracker.await(correlationId, wait);
     }
 
     public Mono<Workout> findById(UUID id) {
-        return repository.findById(id);
+        return workoutCache.get(id, readRepository::findById);
     }
 
     public Flux<Workout> findAll(int limit, int offset) {
-        return repository.findAllPaged(limit, offset);
+        return readRepository.findAllPaged(limit, offset);
     }
 
-    public Mono<Workout> update(UUID id, UpdateWorkoutRequest request) {
-        return repository.findById(id)
-                .flatMap(existing -> {
-                    workoutMapper.updateWorkoutFromRequest(request, existing);
-                    return repository.save(existing);
-                });
+    public Flux<Workout> findAfter(WorkoutCursor cursor, int limit) {
+        return cursor == null
+                ? readRepository.findFirstPage(limit)
+                : readRepository.findPageAfter(cursor.createdAt(), cursor.id(), limit);
+    }
+
+    /**
+     * Page of workouts matching the filter: keyset pagination when {@code after} is set, offset otherwise.
+     */
+    public Flux<Workout> search(WorkoutFilter filter, WorkoutCursor after, int limit, int offset) {
+        return after == null
+                ? repository.search(filter, limit, offset)
+                : repository.searchAfter(filter, after.createdAt(), after.id(), limit);
+    }
+
+    /**
+     * Number of workouts matching the filter, served from a short-lived cache.
+     */
+    public Mono<Long> count(WorkoutFilter filter) {
+        return countCache.get(filter, repository::count);
+    }
+
+    public Mono<WorkoutStats> stats() {
+        return statistics.snapshot();
+    }
+
+    /**
+     * Applies the non-null fields of the request in a single UPDATE. With {@code expectedVersion} set the
+     * update only applies if the workout is still at that version, and fails with
+     * {@link OptimisticLockingFailureException} if it has moved on. Empty if the workout does not exist.
+     */
+    public Mono<Workout> update(UUID id, UpdateWorkoutRequest request, Long expectedVersion) {
+        UpdateWorkoutRequest conditional = new UpdateWorkoutRequest(request.name(), request.description(),
+                request.workoutType(), request.durationMinutes(), request.caloriesBurned(), request.difficulty(), expectedVersion);
+        return Flux.defer(() -> repository.updateAll(Map.of(id, conditional)))
+                .singleOrEmpty()
+                .switchIfEmpty(Mono.defer(() -> versionConflict(id, expectedVersion)))
+                .flatMap(change -> eventOutbox.append(WorkoutEvent.updated(change)).thenReturn(change))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(change -> {
+                    invalidate(id);
+                    if (change != null) {
+                        statistics.updated(change);
+                    }
+                })
+                .map(WorkoutChange::current);
     }
 
-    public Mono<Boolean> delete(UUID id) {
-        return repository.findById(id)
-                .flatMap(w -> repository.delete(w).thenReturn(true))
+    /**
+     * Deletes with a single statement; same version semantics as {@link #update}.
+     */
+    public Mono<Boolean> delete(UUID id, Long expectedVersion) {
+        return repository.deleteReturning(id, expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> versionConflict(id, expectedVersion)))
+                .flatMap(deleted -> eventOutbox.append(WorkoutEvent.deleted(deleted)).thenReturn(deleted))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(deleted -> {
+                    invalidate(id);
+                    if (deleted != null) {
+                        statistics.deleted(deleted);
+                    }
+                })
+                .map(deleted -> true)
                 .defaultIfEmpty(false);
     }
 
+    public Flux<Workout> updateAll(Map<UUID, UpdateWorkoutRequest> changes) {
+        return Flux.defer(() -> repository.updateAll(changes))
+                .collectList()
+                .flatMap(updated -> eventOutbox.append(updated.stream().map(WorkoutEvent::updated).toList())
+                        .thenReturn(updated))
+                .as(transactionalOperator::transactional)
+                .flatMapIterable(updated -> updated)
+                .doOnNext(change -> {
+                    invalidate(change.current().getId());
+                    statistics.updated(change);
+                })
+                .map(WorkoutChange::current);
+    }
+
+    /**
+     * Deletes the workouts in one statement and emits the ids that existed.
+     */
+    public Flux<UUID> deleteAll(Collection<UUID> ids) {
+        return Flux.defer(() -> repository.deleteAllReturning(ids))
+                .collectList()
+                .flatMap(deleted -> eventOutbox.append(deleted.stream().map(WorkoutEvent::deleted).toList())
+                        .thenReturn(deleted))
+                .as(transactionalOperator::transactional)
+                .flatMapIterable(deleted -> deleted)
+                .doOnNext(w -> {
+                    invalidate(w.getId());
+                    statistics.deleted(w);
+                })
+                .map(Workout::getId);
+    }
+
+    public Flux<UUID> findExistingIds(Collection<UUID> ids) {
+        return ids.isEmpty() ? Flux.empty() : repository.findExistingIds(ids);
+    }
+
     public Flux<Workout> findByType(String type) {
-        return repository.findByType(type);
+        return readRepository.findByType(type);
     }
 
     public Flux<Workout> findByDifficulty(String difficulty) {
-        return repository.findByDifficulty(difficulty);
+        return readRepository.findByDifficulty(difficulty);
     }
-}
 
+    private Workout toWorkout(WorkoutCommand command) {
+        Workout workout = workoutMapper.toWorkout(command.request());
+        workout.setCorrelationId(command.correlationId());
+        return workout;
+    }
+
+    /**
+     * Called when a conditional write matched no row: fails if the workout exists (so its version did
+     * not match), completes empty if it does not.
+     */
+    private <T> Mono<T> versionConflict(UUID id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.empty();
+        }
+        return repository.existsById(id)
+                .flatMap(exists -> exists
+                        ? Mono.error(new OptimisticLockingFailureException("Workout " + id + " is no longer at version " + expectedVersion))
+                        : Mono.empty());
+    }
+
+    /**
+     * Called after a write commits: drops the cached copy and keeps lookups of the workout on the primary
+     * until the replica has caught up.
+     */
+    private void invalidate(UUID id) {
+        readRepository.written(id);
+        workoutCache.invalidate(id);
+    }
+
+    private void afterCreate(Workout workout) {
+        invalidate(workout.getId());
+        statistics.created(workout);
+        commandStatusTracker.completed(workout);
+    }
+}
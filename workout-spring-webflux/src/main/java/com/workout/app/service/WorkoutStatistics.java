@@ -0,0 +1,176 @@
+package com.workout.app.service;
+
+import com.workout.app.domain.Workout;
+import com.workout.app.domain.WorkoutChange;
+import com.workout.app.domain.WorkoutGroupTotals;
+import com.workout.app.domain.WorkoutStats;
+import com.workout.app.repository.WorkoutRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory counts and sums per (type, difficulty), updated with every committed create, update and
+ * delete so stats reads never touch the database: this instance's writes are applied as they commit,
+ * other instances' as their events arrive ({@link com.workout.app.kafka.WorkoutEventListener}). They are
+ * loaded from the database at startup and reloaded every {@code reconcile-interval}; changes applied
+ * while a reload runs are replayed on top of it, and any other drift is corrected. A change committing
+ * at the instant a reload starts, or whose event is still in flight then, may be counted twice until
+ * the next reload.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkoutStatistics {
+
+    private final WorkoutRepository repository;
+
+    private final Object lock = new Object();
+    private Map<GroupKey, Totals> groups = new HashMap<>();
+    private Map<GroupKey, Totals> sinceReload;
+    private Instant reconciledAt;
+
+    @Value("${workout.stats.reconcile-interval:5m}")
+    private Duration reconcileInterval;
+
+    @PostConstruct
+    public void start() {
+        Flux.interval(Duration.ZERO, reconcileInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> reload()
+                        .onErrorResume(e -> {
+                            log.error("Error reconciling workout stats, retrying on next interval", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public void created(Workout workout) {
+        apply(workout, 1);
+    }
+
+    public void updated(WorkoutChange change) {
+        synchronized (lock) {
+            apply(change.previous(), -1);
+            apply(change.current(), 1);
+        }
+    }
+
+    public void deleted(Workout workout) {
+        apply(workout, -1);
+    }
+
+    /**
+     * Current stats, or empty until the first load from the database has finished.
+     */
+    public Mono<WorkoutStats> snapshot() {
+        return Mono.fromSupplier(() -> {
+            synchronized (lock) {
+                return reconciledAt == null ? null : toStats(groups, reconciledAt);
+            }
+        });
+    }
+
+    private Mono<Void> reload() {
+        return Mono.defer(() -> {
+                    synchronized (lock) {
+                        sinceReload = new HashMap<>();
+                    }
+                    return repository.groupTotals().collectList();
+                })
+                .doOnNext(this::replace)
+                .doFinally(signal -> {
+                    synchronized (lock) {
+                        sinceReload = null;
+                    }
+                })
+                .then();
+    }
+
+    private void replace(List<WorkoutGroupTotals> rows) {
+        Map<GroupKey, Totals> loaded = new HashMap<>();
+        for (WorkoutGroupTotals row : rows) {
+            loaded.put(new GroupKey(row.workoutType(), row.difficulty()),
+                    new Totals(row.count(), row.durationMinutes(), row.caloriesBurned()));
+        }
+        synchronized (lock) {
+            sinceReload.forEach((key, delta) -> merge(loaded, key, delta));
+            if (reconciledAt != null && !loaded.equals(groups)) {
+                log.debug("Workout stats drifted from the database, correcting (in memory: {}, database: {})",
+                        toStats(groups, reconciledAt).totalWorkouts(), toStats(loaded, reconciledAt).totalWorkouts());
+            }
+            groups = loaded;
+            reconciledAt = Instant.now();
+        }
+        log.debug("Reconciled workout stats over {} groups", rows.size());
+    }
+
+    private void apply(Workout workout, int sign) {
+        GroupKey key = new GroupKey(workout.getWorkoutType(), workout.getDifficulty());
+        Totals delta = new Totals(sign, (long) sign * workout.getDurationMinutes(),
+                (long) sign * (workout.getCaloriesBurned() != null ? workout.getCaloriesBurned() : 0));
+        synchronized (lock) {
+            merge(groups, key, delta);
+            if (sinceReload != null) {
+                merge(sinceReload, key, delta);
+            }
+        }
+    }
+
+    private static void merge(Map<GroupKey, Totals> groups, GroupKey key, Totals delta) {
+        // Groups that drop to zero are removed so in-memory and reloaded maps compare equal.
+        groups.merge(key, delta, (a, b) -> {
+            Totals sum = a.plus(b);
+            return sum.isZero() ? null : sum;
+        });
+    }
+
+    private static WorkoutStats toStats(Map<GroupKey, Totals> groups, Instant reconciledAt) {
+        Map<String, Totals> byType = new TreeMap<>();
+        Map<String, Totals> byDifficulty = new TreeMap<>();
+        Totals total = Totals.ZERO;
+        for (Map.Entry<GroupKey, Totals> entry : groups.entrySet()) {
+            byType.merge(entry.getKey().workoutType(), entry.getValue(), Totals::plus);
+            byDifficulty.merge(entry.getKey().difficulty(), entry.getValue(), Totals::plus);
+            total = total.plus(entry.getValue());
+        }
+        Map<String, WorkoutStats.Group> typeStats = new TreeMap<>();
+        byType.forEach((type, totals) -> typeStats.put(type, totals.toGroup()));
+        Map<String, WorkoutStats.Group> difficultyStats = new TreeMap<>();
+        byDifficulty.forEach((difficulty, totals) -> difficultyStats.put(difficulty, totals.toGroup()));
+        return new WorkoutStats(total.count(), total.averageDuration(), total.caloriesBurned(), typeStats, difficultyStats, reconciledAt);
+    }
+
+    private record GroupKey(String workoutType, String difficulty) {}
+
+    private record Totals(long count, long durationMinutes, long caloriesBurned) {
+        static final Totals ZERO = new Totals(0, 0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, durationMinutes + other.durationMinutes, caloriesBurned + other.caloriesBurned);
+        }
+
+        boolean isZero() {
+            return count == 0 && durationMinutes == 0 && caloriesBurned == 0;
+        }
+
+        double averageDuration() {
+            return count == 0 ? 0 : (double) durationMinutes / count;
+        }
+
+        WorkoutStats.Group toGroup() {
+            return new WorkoutStats.Group(count, averageDuration(), caloriesBurned);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.workout.app.tracing;
+
+/**
+ * Fixed one-second window; cheaper than a token bucket and precise enough for a sampling budget.
+ */
+final class PerSecondBudget {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int perSecond;
+    private long window;
+    private int used;
+
+    PerSecondBudget(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    synchronized boolean tryAcquire(long nanoTime) {
+        long current = nanoTime / NANOS_PER_SECOND;
+        if (current != window) {
+            window = current;
+            used = 0;
+        }
+        if (used >= perSecond) {
+            return false;
+        }
+        used++;
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+package com.workout.app.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Root sampler that samples at most a fixed number of traces per second for each span name, so
+ * tracing cost stays bounded however much traffic an endpoint gets. The name is the one the span is
+ * started with: WebFlux starts HTTP server spans as {@code http get}, {@code http post}, ... before
+ * the route is matched and only renames them when they end, so HTTP budgets are per method. Roots
+ * over budget are either dropped or, with {@code recordOverBudget}, recorded without being exported so
+ * that {@link TailKeepingSpanProcessor} can still keep them if they fail or turn out slow.
+ */
+public class RateLimitingSampler implements Sampler {
+
+    // Span names are low cardinality (HTTP methods, topic names); anything beyond this shares one budget.
+    private static final int MAX_TRACKED_NAMES = 1000;
+
+    private final int defaultSpansPerSecond;
+    private final Map<String, Integer> spansPerSecondByName;
+    private final SamplingResult overBudget;
+    private final ConcurrentMap<String, PerSecondBudget> budgets = new ConcurrentHashMap<>();
+    private final PerSecondBudget overflow;
+
+    public RateLimitingSampler(int defaultSpansPerSecond, Map<String, Integer> spansPerSecondByName, boolean recordOverBudget) {
+        this.defaultSpansPerSecond = defaultSpansPerSecond;
+        this.spansPerSecondByName = Map.copyOf(spansPerSecondByName);
+        this.overBudget = recordOverBudget ? SamplingResult.recordOnly() : SamplingResult.drop();
+        this.overflow = new PerSecondBudget(defaultSpansPerSecond);
+    }
+
+    /**
+     * Sampler for spans whose local parent was not sampled: records them without exporting, so a
+     * trace kept by {@link TailKeepingSpanProcessor} is exported with its children.
+     */
+    public static Sampler recordOnly() {
+        return new Sampler() {
+            @Override
+            public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                    Attributes attributes, List<LinkData> parentLinks) {
+                return SamplingResult.recordOnly();
+            }
+
+            @Override
+            public String getDescription() {
+                return "RecordOnly";
+            }
+        };
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+            Attributes attributes, List<LinkData> parentLinks) {
+        return budgetFor(name).tryAcquire(System.nanoTime()) ? SamplingResult.recordAndSample() : overBudget;
+    }
+
+    @Override
+    public String getDescription() {
+        return "RateLimitingSampler{spansPerSecond=" + defaultSpansPerSecond + ", overrides=" + spansPerSecondByName + "}";
+    }
+
+    private PerSecondBudget budgetFor(String name) {
+        PerSecondBudget budget = budgets.get(name);
+        if (budget != null) {
+            return budget;
+        }
+        if (budgets.size() >= MAX_TRACKED_NAMES) {
+            return overflow;
+        }
+        return budgets.computeIfAbsent(name, n -> new PerSecondBudget(spansPerSecondByName.getOrDefault(n, defaultSpansPerSecond)));
+    }
+}
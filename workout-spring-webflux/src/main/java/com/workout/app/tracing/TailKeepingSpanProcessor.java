@@ -0,0 +1,213 @@
+package com.workout.app.tracing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tail-style keep for traces the head sampler did not sample: their spans are recorded, buffered per
+ * trace and, when the local root span ends, kept only if the root took at least {@code slowThreshold}
+ * or any span in the trace failed. Everything else is discarded without being serialized.
+ * <p>
+ * Every stage is bounded, like a batch span processor: at most {@code maxPendingTraces} traces are
+ * buffered (spans of new traces are dropped while it is full, and traces whose root never ends age
+ * out), at most {@code keepsPerSecond} traces are kept, and kept spans go through a queue of
+ * {@code queueSize} spans that a background thread exports in batches, so span ends never wait on
+ * the exporter.
+ */
+@Slf4j
+public class TailKeepingSpanProcessor implements SpanProcessor {
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final Duration MAX_TRACE_DURATION = Duration.ofMinutes(1);
+    private static final int MAX_SPANS_PER_TRACE = 1000;
+    private static final int MAX_EXPORT_BATCH_SIZE = 512;
+    private static final Duration EXPORT_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration EXPORT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SpanExporter exporter;
+    private final long slowThresholdNanos;
+    private final long maxPendingTraces;
+    private final PerSecondBudget keeps;
+    private final Cache<String, List<SpanData>> pending;
+    private final BlockingQueue<SpanData> queue;
+    private final ScheduledExecutorService worker;
+    private final LongAdder droppedBufferFull = new LongAdder();
+    private final LongAdder droppedRateLimited = new LongAdder();
+    private final LongAdder droppedQueueFull = new LongAdder();
+
+    public TailKeepingSpanProcessor(SpanExporter exporter, Duration slowThreshold, long maxPendingTraces,
+            int keepsPerSecond, int queueSize) {
+        this.exporter = exporter;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxPendingTraces = maxPendingTraces;
+        this.keeps = new PerSecondBudget(keepsPerSecond);
+        this.pending = Caffeine.newBuilder()
+                .expireAfterWrite(MAX_TRACE_DURATION)
+                .build();
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tail-span-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker.scheduleWithFixedDelay(this::exportQueued,
+                EXPORT_INTERVAL.toMillis(), EXPORT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (span.getSpanContext().isSampled()) {
+            return; // exported by the regular batch processor
+        }
+        SpanData data = span.toSpanData();
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            pending.asMap().compute(data.getTraceId(), (traceId, spans) -> {
+                if (spans == null && pending.estimatedSize() >= maxPendingTraces) {
+                    droppedBufferFull.increment();
+                    return null;
+                }
+                List<SpanData> buffered = spans != null ? spans : new ArrayList<>();
+                if (buffered.size() < MAX_SPANS_PER_TRACE) {
+                    buffered.add(data);
+                }
+                return buffered;
+            });
+            return;
+        }
+
+        List<SpanData> children = pending.asMap().remove(data.getTraceId());
+        boolean slow = span.getLatencyNanos() >= slowThresholdNanos;
+        boolean failed = isError(data) || (children != null && children.stream().anyMatch(TailKeepingSpanProcessor::isError));
+        if (!slow && !failed) {
+            return;
+        }
+        if (!keeps.tryAcquire(System.nanoTime())) {
+            droppedRateLimited.increment();
+            return;
+        }
+        List<SpanData> trace = new ArrayList<>(children != null ? children.size() + 1 : 1);
+        if (children != null) {
+            trace.addAll(children);
+        }
+        trace.add(data);
+        if (queue.remainingCapacity() < trace.size()) {
+            droppedQueueFull.increment();
+            return;
+        }
+        log.debug("Keeping unsampled trace {} ({} spans, slow={}, failed={})", data.getTraceId(), trace.size(), slow, failed);
+        for (SpanData kept : trace) {
+            if (!queue.offer(kept)) {
+                droppedQueueFull.increment(); // filled up by a concurrent keep; the rest of the trace is lost
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        CompletableResultCode result = new CompletableResultCode();
+        try {
+            worker.execute(() -> {
+                exportQueued();
+                exporter.flush().whenComplete(result::succeed);
+            });
+        } catch (RejectedExecutionException e) {
+            result.fail();
+        }
+        return result;
+    }
+
+    /**
+     * Exports what is still queued. The exporter is shared with the regular batch processor, which owns
+     * its shutdown.
+     */
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.invalidateAll();
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(EXPORT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                return CompletableResultCode.ofFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableResultCode.ofFailure();
+        }
+        exportQueued();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Traces dropped because the pending buffer was full when their first span ended.
+     */
+    public long droppedBufferFull() {
+        return droppedBufferFull.sum();
+    }
+
+    /**
+     * Slow or failed traces dropped because more than {@code keepsPerSecond} were kept in the same second.
+     */
+    public long droppedRateLimited() {
+        return droppedRateLimited.sum();
+    }
+
+    /**
+     * Kept traces dropped because the export queue had no room for them.
+     */
+    public long droppedQueueFull() {
+        return droppedQueueFull.sum();
+    }
+
+    private void exportQueued() {
+        List<SpanData> batch = new ArrayList<>(MAX_EXPORT_BATCH_SIZE);
+        while (queue.drainTo(batch, MAX_EXPORT_BATCH_SIZE) > 0) {
+            CompletableResultCode result = exporter.export(batch).join(EXPORT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            if (!result.isSuccess()) {
+                log.debug("Export of {} kept spans failed", batch.size());
+            }
+            batch = new ArrayList<>(MAX_EXPORT_BATCH_SIZE);
+        }
+    }
+
+    private static boolean isError(SpanData span) {
+        return span.getStatus().getStatusCode() == StatusCode.ERROR
+                || "SERVER_ERROR".equals(span.getAttributes().get(OUTCOME));
+    }
+}
@@ -0,0 +1,8 @@
+-- Keyset pagination seeks on (created_at, id), so both columns must be non-null and indexed together.
+UPDATE workouts SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE workouts ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_workouts_created_at_id ON workouts(created_at DESC, id DESC);
+
+-- Superseded by the composite index above.
+DROP INDEX IF EXISTS idx_workouts_created_at;
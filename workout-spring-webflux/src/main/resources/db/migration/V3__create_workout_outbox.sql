@@ -0,0 +1,9 @@
+-- Change events written in the same transaction as the workout row; the relay publishes them to
+-- the workout-events topic and deletes them once Kafka has acknowledged.
+CREATE TABLE IF NOT EXISTS workout_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
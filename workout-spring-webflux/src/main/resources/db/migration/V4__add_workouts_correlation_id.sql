@@ -0,0 +1,4 @@
+-- Correlation id of the Kafka create command that produced the row, for command status lookups.
+ALTER TABLE workouts ADD COLUMN IF NOT EXISTS correlation_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_workouts_correlation_id ON workouts(correlation_id) WHERE correlation_id IS NOT NULL;
@@ -0,0 +1,2 @@
+-- Optimistic concurrency: every UPDATE increments the version, and conditional writes compare against it.
+ALTER TABLE workouts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
@@ -0,0 +1,11 @@
+-- Composite indexes for /api/workouts/search: each equality filter combination can be read in
+-- (created_at DESC, id DESC) order straight from an index. Duration and calorie ranges are applied
+-- to the rows of that scan.
+CREATE INDEX IF NOT EXISTS idx_workouts_type_difficulty_created_at
+    ON workouts(workout_type, difficulty, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_workouts_type_created_at ON workouts(workout_type, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_workouts_difficulty_created_at ON workouts(difficulty, created_at DESC, id DESC);
+
+-- Superseded by the indexes above, which start with the same column.
+DROP INDEX IF EXISTS idx_workouts_type;
+DROP INDEX IF EXISTS idx_workouts_difficulty;
@@ -0,0 +1,35 @@
+-- One workout per create command: redelivered or retried commands carry the same correlation id and are
+-- skipped by INSERT ... ON CONFLICT (correlation_id) DO NOTHING. Duplicates written before this
+-- migration are removed first, keeping the earliest row of each command.
+--
+-- The removed rows are kept in workout_duplicates_removed, with the id of the row kept in their place,
+-- and a Deleted event is written to the outbox for each so consumers of workout-events drop them too.
+-- The events carry no previous values: the rows are gone before the service starts and loads its stats.
+CREATE TABLE workout_duplicates_removed AS
+SELECT d.*, CURRENT_TIMESTAMP AS removed_at
+FROM (
+    SELECT w.*, first_value(w.id) OVER (PARTITION BY w.correlation_id ORDER BY w.created_at, w.id) AS kept_id
+    FROM workouts w
+    WHERE w.correlation_id IS NOT NULL
+) d
+WHERE d.id <> d.kept_id;
+
+INSERT INTO workout_outbox (aggregate_id, event_type, payload)
+SELECT id, 'Deleted', json_build_object(
+        'eventType', 'Deleted',
+        'workoutId', id,
+        'workout', NULL,
+        'previous', NULL,
+        'origin', NULL,
+        'timestamp', (extract(EPOCH FROM removed_at) * 1000)::BIGINT)::TEXT
+FROM workout_duplicates_removed
+ORDER BY created_at, id;
+
+DELETE FROM workouts w
+USING workout_duplicates_removed d
+WHERE w.id = d.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_workouts_correlation_id ON workouts(correlation_id);
+
+-- Superseded by the unique index; rows without a correlation id never conflict (NULLs are distinct).
+DROP INDEX IF EXISTS idx_workouts_correlation_id;
@@ -0,0 +1,129 @@
+-- Range-partitions workouts by created_at into monthly partitions (UTC months, named workouts_pYYYYMM),
+-- so indexes and newest-first scans only grow with recent data.
+--
+-- Postgres cannot partition a table in place. The existing table becomes the first partition,
+-- workouts_legacy, covering everything before the first monthly partition; its rows are not copied,
+-- and ATTACH scans it once to check the bound.
+
+CREATE SCHEMA IF NOT EXISTS workout_archive;
+
+-- Month boundaries are computed in UTC so partition bounds do not depend on the session time zone.
+CREATE OR REPLACE FUNCTION workouts_month_start(ts TIMESTAMPTZ, months_offset INT DEFAULT 0)
+RETURNS TIMESTAMPTZ AS $$
+    SELECT (date_trunc('month', ts AT TIME ZONE 'UTC') + make_interval(months => months_offset)) AT TIME ZONE 'UTC';
+$$ LANGUAGE sql IMMUTABLE;
+
+ALTER TABLE workouts RENAME TO workouts_legacy;
+DROP TRIGGER IF EXISTS update_workouts_updated_at ON workouts_legacy;
+
+-- The primary key of a partitioned table has to include the partition key.
+ALTER TABLE workouts_legacy DROP CONSTRAINT workouts_pkey;
+ALTER TABLE workouts_legacy ADD CONSTRAINT workouts_legacy_pkey PRIMARY KEY (id, created_at);
+
+-- Free the index names for the partitioned table; ATTACH adopts these indexes as its partitions.
+ALTER INDEX idx_workouts_created_at_id RENAME TO workouts_legacy_created_at_id_idx;
+ALTER INDEX idx_workouts_type_difficulty_created_at RENAME TO workouts_legacy_type_difficulty_created_at_idx;
+ALTER INDEX idx_workouts_type_created_at RENAME TO workouts_legacy_type_created_at_idx;
+ALTER INDEX idx_workouts_difficulty_created_at RENAME TO workouts_legacy_difficulty_created_at_idx;
+
+CREATE TABLE workouts (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    workout_type VARCHAR(100) NOT NULL,
+    duration_minutes INT NOT NULL,
+    calories_burned INT,
+    difficulty VARCHAR(50) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    correlation_id UUID,
+    version BIGINT NOT NULL DEFAULT 1,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_workouts_created_at_id ON workouts(created_at DESC, id DESC);
+CREATE INDEX idx_workouts_type_difficulty_created_at ON workouts(workout_type, difficulty, created_at DESC, id DESC);
+CREATE INDEX idx_workouts_type_created_at ON workouts(workout_type, created_at DESC, id DESC);
+CREATE INDEX idx_workouts_difficulty_created_at ON workouts(difficulty, created_at DESC, id DESC);
+CREATE INDEX idx_workouts_correlation_id ON workouts(correlation_id);
+
+CREATE TRIGGER update_workouts_updated_at
+    BEFORE UPDATE ON workouts
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+DO $$
+DECLARE
+    legacy_until TIMESTAMPTZ := GREATEST(
+            workouts_month_start(CURRENT_TIMESTAMP, 1),
+            COALESCE((SELECT workouts_month_start(max(created_at), 1) FROM workouts_legacy), '-infinity'));
+BEGIN
+    EXECUTE format('ALTER TABLE workouts ATTACH PARTITION workouts_legacy FOR VALUES FROM (MINVALUE) TO (%L)', legacy_until);
+END $$;
+
+-- A unique index on a partitioned table must include created_at, which a redelivered or retried command
+-- does not share with the original. Command deduplication therefore moves to this unpartitioned table,
+-- which also records where each command's row lives so status lookups can prune to one partition.
+CREATE TABLE workout_command_ids (
+    correlation_id UUID PRIMARY KEY,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO workout_command_ids (correlation_id, created_at)
+SELECT correlation_id, created_at FROM workouts_legacy WHERE correlation_id IS NOT NULL;
+
+DROP INDEX IF EXISTS uq_workouts_correlation_id;
+
+-- Attached partitions with the exclusive upper bound of their range.
+CREATE OR REPLACE FUNCTION workouts_partitions()
+RETURNS TABLE (partition_name TEXT, upper_bound TIMESTAMPTZ) AS $$
+    SELECT c.relname::TEXT,
+           substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \(''([^'']+)''\)')::TIMESTAMPTZ
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'workouts'::regclass;
+$$ LANGUAGE sql STABLE;
+
+-- Creates monthly partitions from the end of the existing ones through months_ahead months after the
+-- current one, and returns their names. Every instance runs this, so it is serialised with a lock.
+CREATE OR REPLACE FUNCTION workouts_create_partitions(months_ahead INT)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    month_start TIMESTAMPTZ;
+    new_partition TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('workouts_partitions'));
+    SELECT GREATEST(COALESCE(max(upper_bound), '-infinity'), workouts_month_start(CURRENT_TIMESTAMP))
+    INTO month_start
+    FROM workouts_partitions();
+
+    WHILE month_start <= workouts_month_start(CURRENT_TIMESTAMP, months_ahead) LOOP
+        new_partition := 'workouts_p' || to_char(month_start AT TIME ZONE 'UTC', 'YYYYMM');
+        EXECUTE format('CREATE TABLE %I PARTITION OF workouts FOR VALUES FROM (%L) TO (%L)',
+                new_partition, month_start, workouts_month_start(month_start, 1));
+        RETURN NEXT new_partition;
+        month_start := workouts_month_start(month_start, 1);
+    END LOOP;
+END $$ LANGUAGE plpgsql;
+
+-- Detaches every partition whose range ended at least retention_months months before the start of the
+-- current month, moves it to the workout_archive schema (to be dumped or dropped) and forgets its
+-- command ids. Returns the names of the archived partitions.
+CREATE OR REPLACE FUNCTION workouts_archive_partitions(retention_months INT)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    archived RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('workouts_partitions'));
+    FOR archived IN
+        SELECT partition_name, upper_bound FROM workouts_partitions()
+        WHERE upper_bound <= workouts_month_start(CURRENT_TIMESTAMP, -retention_months)
+    LOOP
+        EXECUTE format('ALTER TABLE workouts DETACH PARTITION %I', archived.partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA workout_archive', archived.partition_name);
+        DELETE FROM workout_command_ids WHERE created_at < archived.upper_bound;
+        RETURN NEXT archived.partition_name;
+    END LOOP;
+END $$ LANGUAGE plpgsql;
+
+SELECT workouts_create_partitions(3);
@@ -0,0 +1,2 @@
+-- Archiving a partition deletes its command ids by created_at (workouts_archive_partitions).
+CREATE INDEX IF NOT EXISTS idx_workout_command_ids_created_at ON workout_command_ids(created_at);